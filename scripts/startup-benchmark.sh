@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and resident memory of the plain jar, the AOT + AppCDS image and the
+# native image. Every variant is started RUNS times against the same PostgreSQL; the script
+# records the time until /actuator/health reports UP and the resident set size of the application
+# process at that point. The RSS is read from VmRSS of /proc/<pid>/status on the host, as docker
+# stats reports the cgroup memory usage, which includes the page cache of the container.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Requires docker on a Linux host and ./gradlew bootJar to have been run for the jar based images.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+NETWORK=task-startup-benchmark
+DB_CONTAINER=task-startup-benchmark-db
+PORT=18080
+
+cd "$(dirname "$0")/.."
+
+cleanup() {
+  docker rm -f task-startup-benchmark-app "$DB_CONTAINER" > /dev/null 2>&1 || true
+  docker network rm "$NETWORK" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker build -q -t task-service:jar -f Dockerfile . > /dev/null
+docker build -q -t task-service:cds -f Dockerfile.cds . > /dev/null
+docker build -q -t task-service:native -f Dockerfile.native . > /dev/null
+
+docker network create "$NETWORK" > /dev/null
+docker run -d --name "$DB_CONTAINER" --network "$NETWORK" \
+  -e POSTGRES_DB=taskdb -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres postgres:13 > /dev/null
+
+until docker exec "$DB_CONTAINER" pg_isready -U postgres > /dev/null 2>&1; do sleep 1; done
+
+now_millis() {
+  date +%s%3N
+}
+
+# every image starts the application as PID 1 of the container, so its host PID is the container's
+rss_kib() {
+  local pid
+  pid=$(docker inspect -f '{{.State.Pid}}' task-startup-benchmark-app)
+
+  if [[ -r "/proc/$pid/status" ]]; then
+    awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status"
+  else
+    ps -o rss= -p "$pid" | tr -d ' '
+  fi
+}
+
+measure() {
+  local image="$1"
+  local start end rss
+
+  start=$(now_millis)
+  docker run -d --name task-startup-benchmark-app --network "$NETWORK" -p "$PORT:8080" \
+    -e DB_URL="jdbc:postgresql://$DB_CONTAINER:5432/taskdb" -e DB_USERNAME=postgres -e DB_PASSWORD=postgres \
+    "$image" > /dev/null
+
+  until curl -fs "http://localhost:$PORT/actuator/health" 2> /dev/null | grep -q '"UP"'; do sleep 0.05; done
+  end=$(now_millis)
+
+  rss=$(rss_kib)
+  docker rm -f task-startup-benchmark-app > /dev/null
+
+  echo "$((end - start)) $rss"
+}
+
+printf '| %-20s | %-12s | %-12s |\n' variant "ready (ms)" "RSS (KiB)"
+printf '|%s|%s|%s|\n' "----------------------" "--------------" "--------------"
+
+for variant in jar cds native; do
+  for run in $(seq 1 "$RUNS"); do
+    read -r millis rss <<< "$(measure "task-service:$variant")"
+    printf '| %-20s | %-12s | %-12s |\n' "$variant #$run" "$millis" "$rss"
+  done
+done
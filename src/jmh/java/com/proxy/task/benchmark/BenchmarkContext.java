@@ -0,0 +1,61 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.TaskApplication;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against an in-memory H2 database configured by {@code jmh.properties},
+ * without a web server unless one is requested.
+ */
+final class BenchmarkContext {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        return new SpringApplicationBuilder(TaskApplication.class)
+                .web(webApplicationType)
+                .properties("spring.config.name=jmh")
+                .properties(properties)
+                .run();
+    }
+
+    static List<Task> tasks(int size) {
+        var tasks = new ArrayList<Task>(size);
+
+        for (int index = 0; index < size; index++) {
+            tasks.add(Task.builder()
+                    .id((long) index + 1)
+                    .title("Task title " + index)
+                    .description("Description of benchmark task number " + index)
+                    .status(STATUSES[index % STATUSES.length])
+                    .dueDate(LocalDate.of(2030, 1, 1).plusDays(index % 365))
+                    .version(0L)
+                    .build());
+        }
+
+        return tasks;
+    }
+
+    static List<TaskDto> taskDtos(int size) {
+        var taskDtos = new ArrayList<TaskDto>(size);
+
+        for (var task : tasks(size)) {
+            taskDtos.add(new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                    task.getDueDate(), task.getVersion()));
+        }
+
+        return taskDtos;
+    }
+}
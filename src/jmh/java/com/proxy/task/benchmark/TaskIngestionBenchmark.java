@@ -0,0 +1,72 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskIngestionStatus;
+import com.proxy.task.ingestion.TaskIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to durably create a burst of tasks through the write-behind queue, by flush batch size.
+ * A batch size of 1 corresponds to one commit per task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TaskIngestionBenchmark.BURST)
+public class TaskIngestionBenchmark {
+
+    static final int BURST = 2_000;
+
+    @Param({"1", "50", "500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskIngestionService taskIngestionService;
+    private List<TaskDto> taskDtos;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE,
+                "task.ingestion.enabled=true",
+                "task.ingestion.queue-capacity=" + BURST,
+                "task.ingestion.batch-size=" + batchSize);
+        taskIngestionService = context.getBean(TaskIngestionService.class);
+        taskDtos = BenchmarkContext.taskDtos(BURST);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void ingestBurst() throws InterruptedException {
+        var ticketIds = new ArrayList<UUID>(BURST);
+
+        for (var taskDto : taskDtos) {
+            ticketIds.add(taskIngestionService.submit(taskDto).getTicketId());
+        }
+
+        for (var ticketId : ticketIds) {
+            while (taskIngestionService.findTicket(ticketId).getStatus() == TaskIngestionStatus.QUEUED) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
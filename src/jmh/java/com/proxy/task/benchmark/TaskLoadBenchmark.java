@@ -0,0 +1,103 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.service.TaskBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Closed-loop HTTP load against the embedded Tomcat, comparing platform and virtual request threads.
+ * The Tomcat pool is deliberately smaller than the number of client threads so the platform mode
+ * queues on it, while the virtual mode queues on the Hikari pool.
+ * <p>
+ * H2 answers almost without blocking; for representative numbers point the run at PostgreSQL with
+ * {@code -Dspring.datasource.url=... -Dspring.datasource.username=... -Dspring.datasource.password=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class TaskLoadBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET,
+                "server.port=0",
+                "server.tomcat.threads.max=64",
+                "spring.datasource.hikari.maximum-pool-size=16",
+                "spring.threads.virtual.enabled=" + virtualThreads);
+
+        var saved = context.getBean(TaskBatchService.class).saveAll(BenchmarkContext.taskDtos(TASKS));
+        firstId = saved.getItems().get(0).getId();
+
+        var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/v1/tasks";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int findById() throws Exception {
+        return get("/" + (firstId + ThreadLocalRandom.current().nextInt(TASKS)));
+    }
+
+    /**
+     * Multi-get of 20 random tasks, the ids missing from the cache are batched across the client threads.
+     */
+    @Benchmark
+    public int findByIds() throws Exception {
+        var ids = ThreadLocalRandom.current().longs(20, firstId, firstId + TASKS)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        return get("?ids=" + ids);
+    }
+
+    @Benchmark
+    public int findTaskPage() throws Exception {
+        return get("/page?status=IN_PROGRESS&page=" + ThreadLocalRandom.current().nextInt(50) + "&size=20&sort=dueDate");
+    }
+
+    private int get(String path) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
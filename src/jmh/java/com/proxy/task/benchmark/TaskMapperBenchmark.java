@@ -0,0 +1,59 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.Task;
+import com.proxy.task.mapper.TaskMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private TaskMapper taskMapper;
+    private List<Task> tasks;
+    private List<TaskDto> taskDtos;
+
+    @Setup
+    public void setUp() {
+        taskMapper = Mappers.getMapper(TaskMapper.class);
+        tasks = BenchmarkContext.tasks(size);
+        taskDtos = BenchmarkContext.taskDtos(size);
+    }
+
+    @Benchmark
+    public List<TaskDto> toDtoList() {
+        return taskMapper.toDtoList(tasks);
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (var taskDto : taskDtos) {
+            blackhole.consume(taskMapper.toEntity(taskDto));
+        }
+    }
+
+    @Benchmark
+    public void updateTask(Blackhole blackhole) {
+        for (int index = 0; index < size; index++) {
+            var task = tasks.get(index);
+            taskMapper.updateTask(taskDtos.get(index), task);
+            blackhole.consume(task);
+        }
+    }
+}
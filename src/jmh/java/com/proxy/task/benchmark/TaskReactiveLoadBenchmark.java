@@ -0,0 +1,110 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.service.TaskBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load with 1024 concurrent connections against the servlet/JPA stack on Tomcat
+ * and the WebFlux/R2DBC stack of the {@code reactive} profile on Netty. The gc profiler reports
+ * the allocation per request; after each iteration the live threads and the used heap per open
+ * connection are printed.
+ * <p>
+ * H2 answers almost without blocking, which favours the servlet stack; for representative numbers
+ * point both data sources at PostgreSQL with {@code -Dspring.datasource.url=...} and {@code -Dspring.r2dbc.url=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(TaskReactiveLoadBenchmark.CONNECTIONS)
+public class TaskReactiveLoadBenchmark {
+
+    static final int CONNECTIONS = 1024;
+
+    private static final int TASKS = 10_000;
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = "reactive".equals(stack)
+                ? BenchmarkContext.start(WebApplicationType.REACTIVE,
+                "server.port=0",
+                "spring.profiles.active=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///benchmark?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.pool.max-size=16",
+                "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration")
+                : BenchmarkContext.start(WebApplicationType.SERVLET,
+                "server.port=0",
+                "server.tomcat.max-connections=" + CONNECTIONS * 2,
+                "spring.datasource.hikari.maximum-pool-size=16");
+
+        var saved = context.getBean(TaskBatchService.class).saveAll(BenchmarkContext.taskDtos(TASKS));
+        firstId = saved.getItems().get(0).getId();
+
+        var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/v1/tasks";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printFootprint() {
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        var threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        System.out.printf("%n%s: %d live threads, %d KB heap per connection%n", stack, threads, heap / CONNECTIONS / 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int findById() throws Exception {
+        return get("/" + (firstId + ThreadLocalRandom.current().nextInt(TASKS)));
+    }
+
+    @Benchmark
+    public int findTaskPage() throws Exception {
+        return get("/page?status=IN_PROGRESS&page=" + ThreadLocalRandom.current().nextInt(50) + "&size=20&sort=dueDate");
+    }
+
+    private int get(String path) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
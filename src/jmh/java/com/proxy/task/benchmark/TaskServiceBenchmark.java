@@ -0,0 +1,74 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.dto.TaskCursorPage;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.service.TaskBatchService;
+import com.proxy.task.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls against an embedded H2 database, including transactions,
+ * query execution and DTO projection. The read cache is disabled in {@code jmh.properties}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"10000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE);
+        taskService = context.getBean(TaskService.class);
+
+        var saved = context.getBean(TaskBatchService.class).saveAll(BenchmarkContext.taskDtos(tasks));
+        firstId = saved.getItems().get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskDto findById() {
+        return taskService.findById(firstId + ThreadLocalRandom.current().nextInt(tasks));
+    }
+
+    @Benchmark
+    public Page<TaskDto> findTaskPageByStatus() {
+        return taskService.findTaskPage(null, null, TaskStatus.IN_PROGRESS, null, 5, 20, Sort.by("dueDate"));
+    }
+
+    @Benchmark
+    public Page<TaskDto> findTaskPageByTitle() {
+        return taskService.findTaskPage("title 12", null, null, null, 0, 20, Sort.unsorted());
+    }
+
+    @Benchmark
+    public TaskCursorPage findTaskCursorPage() {
+        return taskService.findTaskCursorPage(null, null, TaskStatus.IN_PROGRESS, null, null, 20, Sort.by("dueDate"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.proxy.task.benchmark;
+
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.service.TaskCursor;
+import com.proxy.task.service.TaskSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the filter parameters into criteria predicates, without executing the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSpecificationBenchmark {
+
+    private static final LocalDate DUE_DATE = LocalDate.of(2030, 1, 1);
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TaskCursor cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE);
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        cursor = new TaskCursor(Sort.Order.asc(TaskCursor.DUE_DATE), DUE_DATE, 100L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate noFilters() {
+        return toPredicate(TaskSpecification.filterBy(null, null, null, null));
+    }
+
+    @Benchmark
+    public Predicate allFilters() {
+        return toPredicate(TaskSpecification.filterBy("title", "description", TaskStatus.TODO, DUE_DATE));
+    }
+
+    @Benchmark
+    public Predicate filtersAfterCursor() {
+        return toPredicate(TaskSpecification.filterBy(null, null, TaskStatus.TODO, null).and(TaskSpecification.after(cursor)));
+    }
+
+    private Predicate toPredicate(Specification<Task> specification) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(Task.class);
+
+        return specification.toPredicate(query.from(Task.class), query, criteriaBuilder);
+    }
+}
@@ -1,9 +1,14 @@
 package com.proxy.task;
 
+import com.proxy.task.config.TaskRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(TaskRuntimeHints.class)
 public class TaskApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,80 @@
+package com.proxy.task.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit. Requests completing within the
+ * target latency while the limit is in use grow it by about one per window of {@code limit}
+ * requests; a slower request shrinks it by {@code backoffRatio}, at most once per target latency
+ * so that one burst of slow responses does not collapse the limit to its minimum.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and adjusts the limit to the observed latency.
+     */
+    public void release(long latencyNanos, long nowNanos) {
+        var current = inFlight.getAndDecrement();
+        adjust(latencyNanos, current, nowNanos);
+    }
+
+    /**
+     * Releases a permit without a latency sample, used for streaming responses whose duration
+     * says nothing about the load.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void adjust(long latencyNanos, int inFlightAtRelease, long nowNanos) {
+        if (latencyNanos > targetLatencyNanos) {
+            if (lastDecreaseNanos == Long.MIN_VALUE || nowNanos - lastDecreaseNanos >= targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+            }
+        } else if (inFlightAtRelease * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.proxy.task.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+import java.util.Set;
+
+/**
+ * Cost classes of the task API, each with its own adaptive concurrency limit.
+ */
+public enum TaskEndpointClass {
+
+    /**
+     * Single task lookups, multi-gets and unfiltered pages served from indexes or the cache.
+     */
+    READ,
+
+    /**
+     * Filtered or full-text pages, full listings and exports.
+     */
+    SEARCH,
+
+    /**
+     * Everything that modifies tasks.
+     */
+    WRITE;
+
+    private static final String TASKS_PATH = "/api/v1/tasks";
+    private static final String IDS_PARAMETER = "ids";
+    private static final Set<String> SEARCH_PARAMETERS = Set.of("title", "description", "q");
+
+    public static TaskEndpointClass of(HttpServletRequest request) {
+        var method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return WRITE;
+        }
+
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(TASKS_PATH) && request.getParameter(IDS_PARAMETER) != null) {
+            return READ;
+        }
+
+        if (path.equals(TASKS_PATH) || path.startsWith(TASKS_PATH + "/copy")) {
+            return SEARCH;
+        }
+
+        if (path.equals(TASKS_PATH + "/page") || path.equals(TASKS_PATH + "/cursor")) {
+            for (var parameter : SEARCH_PARAMETERS) {
+                if (request.getParameter(parameter) != null) {
+                    return SEARCH;
+                }
+            }
+        }
+
+        return READ;
+    }
+}
@@ -0,0 +1,40 @@
+package com.proxy.task.admission;
+
+/**
+ * Token bucket refilled continuously at {@code ratePerSecond} up to {@code capacity} tokens.
+ * Timestamps are {@link System#nanoTime()} style readings supplied by the caller.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int capacity, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public synchronized long tryConsume(long nowNanos) {
+        if (nowNanos > lastRefillNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,11 @@
+package com.proxy.task.archive;
+
+public interface TaskArchiveService {
+
+    /**
+     * Moves the completed tasks due longer than {@code task.archive.retention} ago to the archive table.
+     *
+     * @return number of archived tasks
+     */
+    long archiveCompleted();
+}
@@ -0,0 +1,93 @@
+package com.proxy.task.archive;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.config.TaskArchiveProperties;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.repository.TaskRepository;
+import com.proxy.task.service.TaskPageCache;
+import com.proxy.task.service.TaskStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves old completed tasks out of the task table in batches of {@code task.archive.batch-size},
+ * one transaction each, so the table and its indexes stay small without long-running locks. Archived
+ * tasks are only returned by the queries that explicitly include the archive, a lookup by id
+ * answers 404 for them, and change subscribers see them as deleted.
+ * <p>
+ * Off unless {@code task.archive.enabled} is set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskStatisticsService statisticsService;
+    private final TaskChangeService taskChangeService;
+    private final TaskPageCache taskPageCache;
+    private final CacheManager cacheManager;
+    private final Clock clock;
+
+    @Override
+    @Scheduled(fixedDelayString = "${task.archive.interval:PT1H}", initialDelayString = "${task.archive.interval:PT1H}")
+    public long archiveCompleted() {
+        if (!archiveProperties.isEnabled()) {
+            return 0;
+        }
+
+        var cutoff = LocalDate.now(clock).minusDays(archiveProperties.getRetention().toDays());
+        var archived = 0L;
+        List<Long> batch;
+
+        do {
+            batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += batch.size();
+            evict(batch);
+        } while (batch.size() == archiveProperties.getBatchSize());
+
+        if (archived > 0) {
+            taskPageCache.invalidate();
+        }
+
+        log.info("{} completed tasks due before {} archived", archived, cutoff);
+
+        return archived;
+    }
+
+    private List<Long> archiveBatch(LocalDate cutoff) {
+        var taskIds = taskRepository.lockCompletedDueBefore(cutoff, archiveProperties.getBatchSize());
+
+        if (!taskIds.isEmpty()) {
+            var archivedTasks = taskRepository.lockStatusAndDueDates(taskIds);
+
+            taskRepository.copyToArchive(taskIds, clock.instant());
+            taskRepository.deleteAllByIdInBatch(taskIds);
+            archivedTasks.forEach(task -> {
+                statisticsService.recordDeleted(task.getStatus(), task.getDueDate());
+                taskChangeService.record(task.getId(), TaskChangeType.DELETED);
+            });
+        }
+
+        return taskIds;
+    }
+
+    private void evict(List<Long> taskIds) {
+        var cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+
+        if (cache != null) {
+            taskIds.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.proxy.task.changes;
+
+import com.proxy.task.entity.TaskChangeType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TaskChangeService {
+
+    /**
+     * Writes the change to the outbox in the current transaction. The subscribers of every instance
+     * receive it once that transaction has committed and the change has been published.
+     */
+    void record(Long taskId, TaskChangeType type);
+
+    /**
+     * @param lastEventId id of the last change the client has seen, {@code null} to only receive new changes
+     */
+    SseEmitter subscribe(Long lastEventId);
+}
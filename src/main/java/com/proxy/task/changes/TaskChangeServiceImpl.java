@@ -0,0 +1,261 @@
+package com.proxy.task.changes;
+
+import com.proxy.task.config.TaskChangeProperties;
+import com.proxy.task.dto.TaskChangeDto;
+import com.proxy.task.entity.TaskChange;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.repository.TaskChangeRepository;
+import com.proxy.task.service.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Change feed over server-sent events. Idle connections are plain servlet async requests and hold
+ * no thread. Every instance polls the outbox, so changes written by any instance, or by plain SQL,
+ * reach all subscribers. A poll first gives the committed changes their position, one publisher at a
+ * time, then appends the newly positioned changes to the bounded queue of every local subscriber,
+ * whose queue is drained on a virtual thread, so a slow client never delays the others. Delivery is
+ * at least once: clients resume with {@code Last-Event-ID} from the outbox and may see a change twice.
+ */
+@Slf4j
+@Service
+public class TaskChangeServiceImpl implements TaskChangeService, DisposableBean {
+
+    private static final String RESET_EVENT = "reset";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger publishRequests = new AtomicInteger();
+    private volatile long lastDelivered = -1;
+
+    public TaskChangeServiceImpl(TaskChangeRepository taskChangeRepository, TaskChangeProperties properties,
+                                 TransactionTemplate transactionTemplate, Clock clock) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public void record(Long taskId, TaskChangeType type) {
+        taskChangeRepository.save(TaskChange.builder()
+                .taskId(taskId)
+                .type(type)
+                .occurredAt(clock.instant())
+                .build());
+
+        TransactionCallbacks.afterCommit(() -> dispatcher.execute(this::publishChanges));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long lastEventId) {
+        var emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        var subscriber = new Subscriber(emitter, lastEventId);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.schedule();
+
+        log.debug("Change feed subscriber added after {}, {} subscribers", lastEventId, subscribers.size());
+
+        return emitter;
+    }
+
+    /**
+     * Runs on every poll and after each local commit. Concurrent requests collapse into one more pass
+     * of the run already in progress.
+     */
+    @Scheduled(fixedDelayString = "${task.changes.poll-interval:PT1S}")
+    public void publishChanges() {
+        if (publishRequests.getAndIncrement() > 0) {
+            return;
+        }
+
+        do {
+            publishRequests.set(1);
+
+            try {
+                publish();
+            } catch (RuntimeException exception) {
+                publishRequests.set(0);
+                log.warn("Publishing task changes failed, retrying on the next poll", exception);
+                return;
+            }
+        } while (!publishRequests.compareAndSet(1, 0));
+    }
+
+    @Scheduled(fixedRateString = "${task.changes.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> dispatcher.execute(subscriber::heartbeat));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${task.changes.cleanup-interval:PT1H}")
+    public void deleteExpiredChanges() {
+        var deleted = taskChangeRepository.deleteOlderThan(clock.instant().minus(properties.getRetention()));
+
+        log.debug("{} expired task changes deleted", deleted);
+    }
+
+    private void publish() {
+        if (lastDelivered < 0) {
+            lastDelivered = taskChangeRepository.findLastPosition();
+        }
+
+        var batchSize = properties.getPublishBatchSize();
+        int positioned;
+
+        do {
+            positioned = Objects.requireNonNull(transactionTemplate.execute(status -> assignPositions(batchSize)));
+        } while (positioned == batchSize);
+
+        List<TaskChangeDto> changes;
+
+        do {
+            changes = taskChangeRepository.findDtosAfter(lastDelivered, Limit.of(batchSize));
+
+            for (var change : changes) {
+                subscribers.forEach(subscriber -> subscriber.publish(change));
+                lastDelivered = change.getId();
+            }
+        } while (changes.size() == batchSize);
+    }
+
+    /**
+     * Positions follow the order in which the publishers' transactions commit, which the lock
+     * serializes, so a change never becomes visible behind a position a reader has already passed.
+     */
+    private int assignPositions(int batchSize) {
+        taskChangeRepository.lockPublisher();
+
+        var changes = taskChangeRepository.findUnpublished(Limit.of(batchSize));
+        var position = changes.isEmpty() ? 0 : taskChangeRepository.findLastPosition();
+
+        for (var change : changes) {
+            change.setPosition(++position);
+        }
+
+        return changes.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdown();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<TaskChangeDto> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Set<Long> replayedIds = new HashSet<>();
+        private Long replayAfter;
+
+        private Subscriber(SseEmitter emitter, Long replayAfter) {
+            this.emitter = emitter;
+            this.replayAfter = replayAfter;
+        }
+
+        private void publish(TaskChangeDto change) {
+            if (pendingCount.incrementAndGet() > properties.getMaxPending()) {
+                log.debug("Change feed subscriber fell behind, closing connection");
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+
+            pending.add(change);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    if (replayAfter != null) {
+                        replay();
+                    }
+
+                    TaskChangeDto change;
+
+                    while ((change = pending.poll()) != null) {
+                        pendingCount.decrementAndGet();
+
+                        if (!replayedIds.contains(change.getId())) {
+                            send(SseEmitter.event().id(String.valueOf(change.getId())).data(change));
+                        }
+                    }
+                } catch (IOException | IllegalStateException exception) {
+                    subscribers.remove(this);
+                    emitter.completeWithError(exception);
+                    return;
+                } finally {
+                    draining.set(false);
+                }
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void replay() throws IOException {
+            var changes = taskChangeRepository.findDtosAfter(replayAfter, Limit.of(properties.getMaxReplay() + 1));
+            replayAfter = null;
+
+            if (changes.size() > properties.getMaxReplay()) {
+                send(SseEmitter.event().name(RESET_EVENT).data(RESET_EVENT));
+                return;
+            }
+
+            for (var change : changes) {
+                replayedIds.add(change.getId());
+                send(SseEmitter.event().id(String.valueOf(change.getId())).data(change));
+            }
+        }
+
+        private void heartbeat() {
+            try {
+                send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+            } catch (IOException | IllegalStateException exception) {
+                subscribers.remove(this);
+                emitter.completeWithError(exception);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            emitter.send(event);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.proxy.task.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.proxy.task.admission.AdaptiveConcurrencyLimit;
+import com.proxy.task.filter.AdmissionControlFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(TaskAdmissionProperties.class)
+@ConditionalOnProperty(prefix = "task.admission", name = "enabled")
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(TaskAdmissionProperties admissionProperties,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AdmissionControlFilter(admissionProperties, Ticker.systemTicker(), meterRegistry);
+    }
+
+    /**
+     * Runs after the telemetry filter so that rejected requests still show up in the request log.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter filter) {
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder admissionControlMetrics(AdmissionControlFilter filter) {
+        return registry -> filter.getLimits().forEach((endpointClass, limit) -> {
+            var tag = endpointClass.name().toLowerCase();
+            Gauge.builder("task.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("endpoint.class", tag)
+                    .register(registry);
+            Gauge.builder("task.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("endpoint.class", tag)
+                    .register(registry);
+        });
+    }
+}
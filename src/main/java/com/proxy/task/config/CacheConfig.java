@@ -0,0 +1,41 @@
+package com.proxy.task.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxy.task.service.TaskPageCache;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches are created by Spring Boot from the {@code spring.cache.*} properties: Caffeine
+ * (W-TinyLFU eviction, bounded size and TTL, recorded statistics) by default, none in the local profile.
+ * Hit, miss and eviction counters are published as {@code cache.*} metrics.
+ * <p>
+ * The caching advice wraps the transactional one, so puts and evictions happen after commit
+ * and cache hits do not open a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(TaskPageCacheProperties.class)
+public class CacheConfig {
+
+    public static final String TASKS_CACHE = "tasks";
+    public static final String TASK_PAGES_CACHE = "taskPages";
+
+    /**
+     * Filtered pages are bounded by weight rather than count since their size depends on the page size.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> taskPagesCacheCustomizer(TaskPageCacheProperties pageCacheProperties) {
+        return cacheManager -> cacheManager.registerCustomCache(TASK_PAGES_CACHE, Caffeine.newBuilder()
+                .maximumWeight(pageCacheProperties.getMaximumSize().toBytes())
+                .weigher(TaskPageCache::weigh)
+                .expireAfterWrite(pageCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,84 @@
+package com.proxy.task.config;
+
+import com.proxy.task.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReadWriteRoutingDataSource} over a Hikari pool
+ * for the primary ({@code spring.datasource.*}) and one per {@code task.datasource.routing.replicas} entry.
+ * All pools share the {@code spring.datasource.hikari.*} settings and publish {@code hikaricp.*} metrics
+ * tagged with their pool name, {@code primary} or {@code replica-<name>}. Being a transaction execution
+ * listener as well, the routing data source is registered with the transaction manager by Spring Boot and
+ * learns about committed writes from it.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "task.datasource.routing", name = "enabled")
+public class RoutingDataSourceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String REPLICA_POOL_PREFIX = "replica-";
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 TaskRoutingDataSourceProperties routingProperties,
+                                                 Environment environment,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        var binder = Binder.get(environment);
+
+        var primaryPool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primaryPool));
+        primaryPool.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        meterRegistry.ifAvailable(primaryPool::setMetricRegistry);
+
+        var replicas = new LinkedHashMap<String, DataSource>();
+        var index = 0;
+
+        for (var replica : routingProperties.getReplicas()) {
+            var name = replica.getName() != null ? replica.getName() : String.valueOf(index);
+            index++;
+
+            var replicaPool = new HikariDataSource();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replicaPool));
+            replicaPool.setPoolName(REPLICA_POOL_PREFIX + name);
+            replicaPool.setJdbcUrl(replica.getUrl());
+            replicaPool.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryPool.getUsername());
+            replicaPool.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryPool.getPassword());
+            replicaPool.setMaximumPoolSize(replica.getMaximumPoolSize() != null ? replica.getMaximumPoolSize() : primaryPool.getMaximumPoolSize());
+            replicaPool.setReadOnly(true);
+            meterRegistry.ifAvailable(replicaPool::setMetricRegistry);
+
+            replicas.put(REPLICA_POOL_PREFIX + name, replicaPool);
+        }
+
+        log.info("Routing read-only transactions to {} replicas by {}, maximum replication lag {}, read-your-writes window {}",
+                replicas.size(), routingProperties.getSelection(), routingProperties.getMaxReplicationLag(),
+                routingProperties.getReadYourWritesWindow());
+
+        return new ReadWriteRoutingDataSource(primaryPool, replicas, routingProperties.getSelection(),
+                routingProperties.getMaxReplicationLag(), routingProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public MeterBinder routingDataSourceMetrics(ReadWriteRoutingDataSource dataSource) {
+        return registry -> dataSource.getTargetNames().forEach(target ->
+                FunctionCounter.builder("task.datasource.routed.connections", dataSource, routing -> routing.getRoutedConnections(target))
+                        .tag("target", target)
+                        .register(registry));
+    }
+}
@@ -0,0 +1,94 @@
+package com.proxy.task.config;
+
+import com.proxy.task.admission.TaskEndpointClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.admission")
+public class TaskAdmissionProperties {
+
+    /**
+     * Reject requests beyond the per-client rate or the endpoint class concurrency limit with 429. Clients are
+     * told apart by principal or remote address, so behind a proxy enable this only together with
+     * {@code server.forward-headers-strategy}.
+     */
+    private boolean enabled;
+
+    /**
+     * Sustained requests per second allowed for one client.
+     */
+    private double clientRate = 50;
+
+    /**
+     * Requests one client may send in a burst above its rate.
+     */
+    private int clientBurst = 100;
+
+    /**
+     * Clients whose buckets are tracked at the same time, the least recently seen ones are evicted first.
+     */
+    private long maxClients = 100_000;
+
+    /**
+     * Buckets of clients idle for longer are dropped, they start again with a full burst.
+     */
+    private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Value of the {@code Retry-After} header when a concurrency limit is reached.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Single task lookups and unfiltered pages.
+     */
+    private Limit read = new Limit(100, 10, 1000, Duration.ofMillis(50), 0.9);
+
+    /**
+     * Filtered and full-text pages, full listings and exports.
+     */
+    private Limit search = new Limit(10, 2, 40, Duration.ofMillis(250), 0.8);
+
+    /**
+     * Creates, updates, patches, deletes, batches and imports.
+     */
+    private Limit write = new Limit(20, 4, 200, Duration.ofMillis(100), 0.9);
+
+    public Limit limit(TaskEndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case READ -> read;
+            case SEARCH -> search;
+            case WRITE -> write;
+        };
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Limit {
+
+        /**
+         * Concurrent requests admitted before any latency was observed.
+         */
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 200;
+
+        /**
+         * Responses slower than this shrink the limit, faster ones let it grow.
+         */
+        private Duration targetLatency = Duration.ofMillis(100);
+
+        /**
+         * Factor applied to the limit when a response exceeds the target latency.
+         */
+        private double backoffRatio = 0.9;
+    }
+}
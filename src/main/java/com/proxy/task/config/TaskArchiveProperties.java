@@ -0,0 +1,26 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.archive")
+public class TaskArchiveProperties {
+
+    /**
+     * Archived tasks disappear from the lookups by id and the default listings, so archival is opt-in.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long after their due date completed tasks stay in the task table before they are archived.
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * Tasks moved per transaction, keeps row locks and the write-ahead log volume of one step bounded.
+     */
+    private int batchSize = 1000;
+}
@@ -0,0 +1,44 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.changes")
+public class TaskChangeProperties {
+
+    /**
+     * Lifetime of a change feed connection, clients reconnect with {@code Last-Event-ID} afterwards.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Changes buffered for a subscriber that does not keep up. When exceeded the connection is
+     * closed and the client resumes from the outbox on reconnect.
+     */
+    private int maxPending = 1000;
+
+    /**
+     * Changes replayed on reconnect. Clients that missed more receive a {@code reset} event
+     * and should reload their data.
+     */
+    private int maxReplay = 1000;
+
+    /**
+     * How often the outbox is polled for changes committed by other instances. Local commits are
+     * published right away.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Committed changes published per batch, each batch is one transaction.
+     */
+    private int publishBatchSize = 500;
+
+    /**
+     * How long changes stay in the outbox and can be replayed.
+     */
+    private Duration retention = Duration.ofDays(7);
+}
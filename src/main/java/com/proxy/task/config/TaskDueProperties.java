@@ -0,0 +1,34 @@
+package com.proxy.task.config;
+
+import com.proxy.task.entity.TaskStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "task.due")
+public class TaskDueProperties {
+
+    /**
+     * How far ahead due dates are held in memory, later ones are loaded as the window moves.
+     */
+    private Duration horizon = Duration.ofDays(7);
+
+    /**
+     * How far back the index is rebuilt at startup, tasks overdue for longer were handled before the restart.
+     */
+    private Duration catchUp = Duration.ofDays(1);
+
+    /**
+     * Maximum number of overdue tasks passed to the handlers at once.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Status changes applied to tasks becoming overdue, e.g. {@code task.due.transitions.todo=on-hold}.
+     */
+    private Map<TaskStatus, TaskStatus> transitions = new EnumMap<>(TaskStatus.class);
+}
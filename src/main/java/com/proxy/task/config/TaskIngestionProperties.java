@@ -0,0 +1,56 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.ingestion")
+public class TaskIngestionProperties {
+
+    /**
+     * Accept {@code POST /api/v1/tasks} with {@code Prefer: respond-async} into the write-behind queue.
+     */
+    private boolean enabled;
+
+    /**
+     * Tasks waiting to be written, further submissions are rejected with 503.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of tasks committed in one transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the flusher keeps collecting after the first task of a batch arrived.
+     */
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    /**
+     * Attempts to write a batch before its tasks are reported as failed.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * How long tickets stay available for polling after their last change.
+     */
+    private Duration ticketRetention = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of tickets kept for polling, beyond that tickets are evicted before their retention ends.
+     */
+    private long maxTickets = 100_000;
+
+    /**
+     * How long shutdown waits for the queued tasks to be written before failing the rest.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Value of the {@code Retry-After} header when the queue is full.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
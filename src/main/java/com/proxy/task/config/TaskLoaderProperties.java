@@ -0,0 +1,31 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.loader")
+public class TaskLoaderProperties {
+
+    /**
+     * How long multi-id lookups are collected before their ids are queried together.
+     */
+    private Duration batchWindow = Duration.ofMillis(2);
+
+    /**
+     * Maximum number of ids of one {@code IN} query, larger batches are split.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * How long a lookup waits for its query before it fails.
+     */
+    private Duration loadTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of ids a client may request at once.
+     */
+    private int maxIds = 100;
+}
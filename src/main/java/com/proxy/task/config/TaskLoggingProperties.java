@@ -0,0 +1,21 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.logging")
+public class TaskLoggingProperties {
+
+    /**
+     * Fraction of requests, between 0 and 1, that are written to the request log.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Requests slower than this, as well as server errors, are always logged.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
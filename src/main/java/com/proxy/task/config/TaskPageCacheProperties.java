@@ -0,0 +1,22 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.page-cache")
+public class TaskPageCacheProperties {
+
+    /**
+     * Approximate memory bound of the cached pages, least valuable pages are evicted first.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Upper bound on staleness for writes this instance does not see, e.g. from other instances or SQL.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(1);
+}
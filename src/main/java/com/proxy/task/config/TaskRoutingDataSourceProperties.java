@@ -0,0 +1,66 @@
+package com.proxy.task.config;
+
+import com.proxy.task.datasource.ReplicaSelection;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "task.datasource.routing")
+public class TaskRoutingDataSourceProperties {
+
+    /**
+     * Route read-only transactions to the replicas, {@code spring.datasource.*} stays the primary.
+     */
+    private boolean enabled;
+
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * Replicas further behind the primary are skipped until they catch up, zero to never check the lag.
+     */
+    private Duration maxReplicationLag = Duration.ZERO;
+
+    /**
+     * How long read-only transactions stay on the primary after a write committed, zero to read from the
+     * replicas right away. Should exceed the replication lag, so reloads of the entries a write evicted from
+     * the caches see that write.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * How often the replication lag is measured when a maximum is set.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        /**
+         * Used as pool name suffix and metric tag, defaults to {@code replica-<index>}.
+         */
+        private String name;
+
+        private String url;
+
+        /**
+         * Defaults to the primary's user name.
+         */
+        private String username;
+
+        /**
+         * Defaults to the primary's password.
+         */
+        private String password;
+
+        /**
+         * Defaults to {@code spring.datasource.hikari.maximum-pool-size}.
+         */
+        private Integer maximumPoolSize;
+    }
+}
@@ -0,0 +1,42 @@
+package com.proxy.task.config;
+
+import com.proxy.task.dto.TaskChangeDto;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskStatusDueDateCount;
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskChange;
+import com.proxy.task.service.TaskSpecification;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.Connection;
+
+/**
+ * Reachability metadata for the native image that Spring AOT cannot infer: classes instantiated by
+ * JPQL and criteria constructor expressions, the Flyway scripts in vendor sub-folders and the JDK
+ * proxy of the virtual-thread data source.
+ */
+public class TaskRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (var type : new Class<?>[]{Task.class, TaskChange.class}) {
+            hints.reflection().registerType(type, MemberCategory.values());
+        }
+
+        for (var type : new Class<?>[]{TaskDto.class, TaskChangeDto.class, TaskStatusDueDateCount.class}) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        hints.reflection().registerType(TaskSpecification.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        hints.resources().registerPattern("db/migration/postgresql/*.sql");
+        hints.resources().registerPattern("db/migration/h2/*.sql");
+
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+}
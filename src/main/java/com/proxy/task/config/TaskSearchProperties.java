@@ -0,0 +1,15 @@
+package com.proxy.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "task.search")
+public class TaskSearchProperties {
+
+    /**
+     * Use the PostgreSQL tsvector GIN index for {@code q=} searches. When disabled
+     * (e.g. on H2) the search falls back to like predicates on title and description.
+     */
+    private boolean fullTextEnabled = true;
+}
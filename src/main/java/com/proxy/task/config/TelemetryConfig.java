@@ -0,0 +1,24 @@
+package com.proxy.task.config;
+
+import com.proxy.task.filter.RequestTelemetryFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(TaskLoggingProperties.class)
+public class TelemetryConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestTelemetryFilter> requestTelemetryFilter(TaskLoggingProperties loggingProperties,
+                                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        var registration = new FilterRegistrationBean<>(new RequestTelemetryFilter(loggingProperties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
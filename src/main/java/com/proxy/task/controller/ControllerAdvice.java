@@ -1,10 +1,16 @@
 package com.proxy.task.controller;
 
+import com.proxy.task.exception.InvalidTaskRequestException;
+import com.proxy.task.exception.TaskIngestionRejectedException;
+import com.proxy.task.exception.TaskIngestionTicketNotFoundException;
 import com.proxy.task.exception.TaskNotFoundException;
+import com.proxy.task.exception.TaskVersionConflictException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,6 +30,43 @@ public class ControllerAdvice {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<String> handleTaskVersionConflictException(TaskVersionConflictException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(exception.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Task was modified concurrently");
+    }
+
+    @ExceptionHandler(InvalidTaskRequestException.class)
+    public ResponseEntity<String> handleInvalidTaskRequestException(InvalidTaskRequestException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    @ExceptionHandler(TaskIngestionTicketNotFoundException.class)
+    public ResponseEntity<String> handleTaskIngestionTicketNotFoundException(TaskIngestionTicketNotFoundException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
+    }
+
+    @ExceptionHandler(TaskIngestionRejectedException.class)
+    public ResponseEntity<String> handleTaskIngestionRejectedException(TaskIngestionRejectedException exception) {
+        log.debug(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(exception.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationErrors(MethodArgumentNotValidException exception) {
 
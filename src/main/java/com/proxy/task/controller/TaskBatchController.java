@@ -0,0 +1,38 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.dto.TaskBatchResult;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.service.TaskBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Batch endpoints. The bodies are not validated as a whole, every element gets its own result and
+ * invalid ones are reported as {@link com.proxy.task.dto.TaskBatchItemStatus#INVALID} with their errors.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/tasks/batch")
+@RequiredArgsConstructor
+public class TaskBatchController {
+
+    private final TaskBatchService taskBatchService;
+
+    @PostMapping
+    public TaskBatchResult saveAll(@RequestBody List<TaskDto> taskDtos) {
+        return taskBatchService.saveAll(taskDtos);
+    }
+
+    @PutMapping
+    public TaskBatchResult updateAll(@RequestBody List<TaskDto> taskDtos) {
+        return taskBatchService.updateAll(taskDtos);
+    }
+
+    @DeleteMapping
+    public TaskBatchResult deleteAll(@RequestBody List<Long> taskIds) {
+        return taskBatchService.deleteAll(taskIds);
+    }
+}
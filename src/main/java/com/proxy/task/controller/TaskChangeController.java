@@ -0,0 +1,33 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.changes.TaskChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/tasks/changes")
+@RequiredArgsConstructor
+public class TaskChangeController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final TaskChangeService taskChangeService;
+
+    /**
+     * Streams task changes as server-sent events. Reconnecting clients resume after the
+     * {@code Last-Event-ID} header sent by {@code EventSource}, or after {@code since} on a first connect.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId,
+                                @RequestParam(required = false) Long since) {
+        return taskChangeService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -1,61 +1,178 @@
 package com.proxy.task.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proxy.task.dto.TaskCursorPage;
 import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
 import com.proxy.task.entity.TaskStatus;
 import com.proxy.task.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/tasks")
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final String NO_CACHE = "no-cache";
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<TaskDto> findAllTasks() {
         return taskService.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public List<TaskDto> findTasksByIds(@RequestParam List<Long> ids) {
+        return taskService.findByIds(ids);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        var writer = objectMapper.writerFor(TaskDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+
+                taskService.streamAll(taskDto -> writeLine(writer, generator, taskDto));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/page")
-    public Page<TaskDto> findTaskPage(
+    public ResponseEntity<Page<TaskDto>> findTaskPage(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String description,
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) LocalDate dueDate,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            Sort sort,
+            @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl,
+            WebRequest webRequest) {
+        Page<TaskDto> taskPage;
+
+        if (StringUtils.hasText(q)) {
+            taskPage = taskService.searchTaskPage(q, title, description, status, dueDate, page, size, sort);
+        } else if (includeArchived) {
+            taskPage = taskService.findTaskPageIncludingArchived(title, description, status, dueDate, page, size, sort);
+        } else if (cacheControl != null && cacheControl.contains(NO_CACHE)) {
+            taskPage = taskService.refreshTaskPage(title, description, status, dueDate, page, size, sort);
+        } else {
+            taskPage = taskService.findTaskPage(title, description, status, dueDate, page, size, sort);
+        }
+
+        // derived from the content, so writes of other instances or outside the service change it as well
+
+        var eTag = TaskETags.of(taskPage);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(taskPage);
+    }
+
+    @GetMapping("/cursor")
+    public TaskCursorPage findTaskCursorPage(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) LocalDate dueDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
             Sort sort) {
-        return taskService.findTaskPage(title, description, status, dueDate, page, size, sort);
+        return taskService.findTaskCursorPage(title, description, status, dueDate, cursor, size, sort);
     }
 
+    /**
+     * Conditional requests only resolve the task version, so a matching {@code If-None-Match}
+     * is answered with 304 without loading, mapping or serializing the task.
+     */
     @GetMapping("/{taskId}")
-    public TaskDto findById(@PathVariable Long taskId) {
-        return taskService.findById(taskId);
+    public ResponseEntity<TaskDto> findById(@PathVariable Long taskId, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(TaskETags.of(taskService.findVersion(taskId)))) {
+            return null;
+        }
+
+        return withETag(ResponseEntity.ok(), taskService.findById(taskId));
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public TaskDto save(@RequestBody @Valid TaskDto taskDto) {
-        return taskService.save(taskDto);
+    public ResponseEntity<TaskDto> save(@RequestBody @Valid TaskDto taskDto) {
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), taskService.save(taskDto));
     }
 
     @PutMapping("/{taskId}")
-    public TaskDto update(@PathVariable Long taskId, @RequestBody @Valid TaskDto taskDto) {
-        return taskService.update(taskId, taskDto);
+    public ResponseEntity<TaskDto> update(@PathVariable Long taskId,
+                                          @RequestBody @Valid TaskDto taskDto,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(ResponseEntity.ok(), taskService.update(taskId, taskDto, TaskETags.parseIfMatch(ifMatch)));
+    }
+
+    @PatchMapping("/{taskId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void patch(@PathVariable Long taskId,
+                      @RequestBody @Valid TaskPatchDto taskPatchDto,
+                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.patch(taskId, taskPatchDto, TaskETags.parseIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{taskId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long taskId) {
-        taskService.delete(taskId);
+    public void delete(@PathVariable Long taskId,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.delete(taskId, TaskETags.parseIfMatch(ifMatch));
+    }
+
+    private static ResponseEntity<TaskDto> withETag(ResponseEntity.BodyBuilder builder, TaskDto taskDto) {
+        var eTag = TaskETags.of(taskDto.getVersion());
+
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+
+        return builder.body(taskDto);
+    }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, TaskDto taskDto) {
+        try {
+            writer.writeValue(generator, taskDto);
+            generator.writeRaw('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 }
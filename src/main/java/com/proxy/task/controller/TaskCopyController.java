@@ -0,0 +1,56 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.copy.TaskCopyFormat;
+import com.proxy.task.copy.TaskCopyService;
+import com.proxy.task.dto.TaskImportResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+/**
+ * Bulk transfer of the task table through PostgreSQL COPY, as CSV ({@code text/csv})
+ * or in the PostgreSQL binary format ({@code application/octet-stream}).
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/tasks/copy")
+@RequiredArgsConstructor
+public class TaskCopyController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final TaskCopyService taskCopyService;
+
+    @GetMapping(produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        return export(TaskCopyFormat.CSV);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBinary() {
+        return export(TaskCopyFormat.BINARY);
+    }
+
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public TaskImportResult importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        return taskCopyService.importTasks(TaskCopyFormat.of(contentType), body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(TaskCopyFormat format) {
+        StreamingResponseBody body = outputStream -> taskCopyService.exportTasks(format, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+}
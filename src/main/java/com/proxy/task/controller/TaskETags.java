@@ -0,0 +1,58 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.exception.TaskVersionConflictException;
+import org.springframework.data.domain.Page;
+
+/**
+ * Entity tags of task responses. A task is tagged with its version, a page with a weak tag
+ * derived from the ids and versions of its content.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    static String of(Page<TaskDto> page) {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + page.getNumber();
+        hash = 31 * hash + page.getSize();
+        hash = 31 * hash + page.getTotalElements();
+
+        for (var taskDto : page) {
+            hash = 31 * hash + (taskDto.getId() == null ? 0 : taskDto.getId());
+            hash = 31 * hash + (taskDto.getVersion() == null ? 0 : taskDto.getVersion());
+        }
+
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Expected version of an {@code If-Match} header, {@code null} when the header is absent or {@code *}.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        var tag = ifMatch.trim();
+
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException exception) {
+            throw new TaskVersionConflictException("If-Match %s does not match any task version".formatted(ifMatch));
+        }
+    }
+}
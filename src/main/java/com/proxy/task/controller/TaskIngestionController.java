@@ -0,0 +1,53 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskIngestionTicketDto;
+import com.proxy.task.ingestion.TaskIngestionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.UUID;
+
+/**
+ * Asynchronous variant of {@code POST /api/v1/tasks}, selected by the {@code Prefer: respond-async}
+ * request header (RFC 7240). The 202 response points to a ticket that turns {@code PERSISTED}
+ * once the task is committed.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/tasks")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "task.ingestion", name = "enabled", havingValue = "true")
+public class TaskIngestionController {
+
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private final TaskIngestionService taskIngestionService;
+
+    @PostMapping(headers = PREFER + "=" + RESPOND_ASYNC)
+    public ResponseEntity<TaskIngestionTicketDto> ingest(@RequestBody @Valid TaskDto taskDto, UriComponentsBuilder uriBuilder) {
+        var ticket = taskIngestionService.submit(taskDto);
+
+        return ResponseEntity.accepted()
+                .location(uriBuilder.path("/api/v1/tasks/ingestion/{ticketId}").build(ticket.getTicketId()))
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(ticket);
+    }
+
+    @GetMapping("/ingestion/{ticketId}")
+    public TaskIngestionTicketDto findTicket(@PathVariable UUID ticketId) {
+        return taskIngestionService.findTicket(ticketId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.dto.TaskStatisticsDto;
+import com.proxy.task.service.TaskStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/tasks/stats")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TaskStatisticsController {
+
+    private final TaskStatisticsService taskStatisticsService;
+
+    @GetMapping
+    public TaskStatisticsDto getStatistics() {
+        return taskStatisticsService.getStatistics();
+    }
+}
@@ -0,0 +1,54 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.exception.InvalidTaskRequestException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Framing of the PostgreSQL binary COPY format: an 11 byte signature, flags and a header extension,
+ * then tuples of length prefixed fields and a {@code -1} trailer.
+ */
+final class PgBinaryCopy {
+
+    static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    static final short TRAILER = -1;
+    static final int NULL_LENGTH = -1;
+
+    /**
+     * Dates are sent as days relative to 2000-01-01.
+     */
+    private static final long POSTGRES_EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+
+    private PgBinaryCopy() {
+    }
+
+    static void readHeader(DataInputStream input) throws IOException {
+        var signature = new byte[SIGNATURE.length];
+        input.readFully(signature);
+
+        if (!Arrays.equals(signature, SIGNATURE)) {
+            throw new InvalidTaskRequestException("Input is not in PostgreSQL binary COPY format");
+        }
+
+        input.readInt();
+        input.skipNBytes(input.readInt());
+    }
+
+    static void writeHeader(DataOutputStream output) throws IOException {
+        output.write(SIGNATURE);
+        output.writeInt(0);
+        output.writeInt(0);
+    }
+
+    static LocalDate toDate(int days) {
+        return LocalDate.ofEpochDay(POSTGRES_EPOCH_DAY + days);
+    }
+
+    static int fromDate(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay() - POSTGRES_EPOCH_DAY);
+    }
+}
@@ -0,0 +1,81 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.exception.InvalidTaskRequestException;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Reads binary COPY tuples in the export layout {@code id, title, description, status, due_date, version}.
+ */
+class TaskBinaryReader implements TaskRowReader {
+
+    private static final int FIELD_COUNT = 6;
+    private static final int DATE_LENGTH = 4;
+
+    private final DataInputStream input;
+
+    TaskBinaryReader(DataInputStream input) throws IOException {
+        this.input = input;
+        PgBinaryCopy.readHeader(input);
+    }
+
+    @Override
+    public TaskRow next() throws IOException {
+        var fieldCount = input.readShort();
+
+        if (fieldCount == PgBinaryCopy.TRAILER) {
+            return null;
+        }
+
+        if (fieldCount != FIELD_COUNT) {
+            throw new InvalidTaskRequestException("Expected %d fields per row but found %d".formatted(FIELD_COUNT, fieldCount));
+        }
+
+        skipField();
+        var title = readText();
+        var description = readText();
+        var status = readText();
+        var dueDateLength = input.readInt();
+        var errors = new HashMap<String, String>();
+
+        if (dueDateLength != PgBinaryCopy.NULL_LENGTH && dueDateLength != DATE_LENGTH) {
+            throw new InvalidTaskRequestException("Malformed due_date field");
+        }
+
+        var dueDate = dueDateLength == PgBinaryCopy.NULL_LENGTH ? null : PgBinaryCopy.toDate(input.readInt());
+        skipField();
+
+        return new TaskRow(title, description, status, dueDate, errors);
+    }
+
+    private String readText() throws IOException {
+        var length = readLength();
+
+        if (length == PgBinaryCopy.NULL_LENGTH) {
+            return null;
+        }
+
+        return new String(input.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private void skipField() throws IOException {
+        var length = readLength();
+
+        if (length > 0) {
+            input.skipNBytes(length);
+        }
+    }
+
+    private int readLength() throws IOException {
+        var length = input.readInt();
+
+        if (length < PgBinaryCopy.NULL_LENGTH) {
+            throw new InvalidTaskRequestException("Malformed field length " + length);
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,45 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.dto.TaskDto;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes binary COPY tuples of {@code title, description, status, due_date}.
+ */
+class TaskBinaryWriter implements TaskRowWriter {
+
+    private static final short FIELD_COUNT = 4;
+    private static final int DATE_LENGTH = 4;
+
+    private final DataOutputStream output;
+
+    TaskBinaryWriter(DataOutputStream output) throws IOException {
+        this.output = output;
+        PgBinaryCopy.writeHeader(output);
+    }
+
+    @Override
+    public void write(TaskDto taskDto) throws IOException {
+        output.writeShort(FIELD_COUNT);
+        writeText(taskDto.getTitle());
+        writeText(taskDto.getDescription());
+        writeText(taskDto.getStatus().name());
+        output.writeInt(DATE_LENGTH);
+        output.writeInt(PgBinaryCopy.fromDate(taskDto.getDueDate()));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        output.writeShort(PgBinaryCopy.TRAILER);
+        output.flush();
+    }
+
+    private void writeText(String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
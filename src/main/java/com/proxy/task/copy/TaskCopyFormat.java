@@ -0,0 +1,36 @@
+package com.proxy.task.copy;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of the bulk endpoints. Both carry the columns {@code id, title, description, status,
+ * due_date, version}; on import id and version are ignored and new ids are assigned.
+ */
+public enum TaskCopyFormat {
+
+    CSV(new MediaType("text", "csv"), "FORMAT csv"),
+    /**
+     * The PostgreSQL binary COPY format.
+     */
+    BINARY(MediaType.APPLICATION_OCTET_STREAM, "FORMAT binary");
+
+    private final MediaType mediaType;
+    private final String copyOptions;
+
+    TaskCopyFormat(MediaType mediaType, String copyOptions) {
+        this.mediaType = mediaType;
+        this.copyOptions = copyOptions;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    String getCopyOptions() {
+        return copyOptions;
+    }
+
+    public static TaskCopyFormat of(MediaType mediaType) {
+        return mediaType != null && BINARY.mediaType.isCompatibleWith(mediaType) ? BINARY : CSV;
+    }
+}
@@ -0,0 +1,21 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.dto.TaskImportResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface TaskCopyService {
+
+    /**
+     * Streams the whole task table ordered by id with {@code COPY ... TO STDOUT}.
+     */
+    long exportTasks(TaskCopyFormat format, OutputStream outputStream);
+
+    /**
+     * Validates the rows while streaming them with {@code COPY ... FROM STDIN} into a staging table,
+     * from which they are inserted into the task table together with a {@code CREATED} change each.
+     * Invalid rows are skipped and reported, the valid ones are committed together or not at all.
+     */
+    TaskImportResult importTasks(TaskCopyFormat format, InputStream inputStream);
+}
@@ -0,0 +1,244 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskImportResult;
+import com.proxy.task.dto.TaskImportRowError;
+import com.proxy.task.due.TaskDueService;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.service.TaskPageCache;
+import com.proxy.task.service.TaskStatisticsService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCopyServiceImpl implements TaskCopyService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String EXPORT_SQL =
+            "COPY (SELECT id, title, description, status, due_date, version FROM task ORDER BY id) TO STDOUT WITH (%s)";
+    // rows are staged first, so the tasks and their outbox entries are inserted together from the staged rows
+    private static final String STAGE_SQL = """
+            CREATE TEMPORARY TABLE task_import
+            (title VARCHAR(255), description VARCHAR(255), status VARCHAR(255), due_date DATE) ON COMMIT DROP
+            """;
+    private static final String IMPORT_SQL = "COPY task_import (title, description, status, due_date) FROM STDIN WITH (%s)";
+    private static final String INSERT_SQL = """
+            WITH imported AS (INSERT INTO task (title, description, status, due_date)
+                              SELECT title, description, status, due_date FROM task_import
+                              RETURNING id)
+            INSERT INTO task_change (task_id, type, occurred_at)
+            SELECT id, ?, ? FROM imported
+            """;
+    private static final String CSV_HEADER_OPTION = ", HEADER";
+    // ids of rows inserted afterwards are greater, whichever session draws them from the sequence
+    private static final String LAST_TASK_ID_SQL = "SELECT last_value - CASE WHEN is_called THEN 0 ELSE 1 END FROM task_seq";
+
+    private final DataSource dataSource;
+    private final Validator validator;
+    private final TaskStatisticsService statisticsService;
+    private final TaskPageCache taskPageCache;
+    private final TaskDueService taskDueService;
+    private final Clock clock;
+
+    @Override
+    public long exportTasks(TaskCopyFormat format, OutputStream outputStream) {
+        log.debug("Exporting tasks as {}", format);
+
+        var options = format == TaskCopyFormat.CSV ? format.getCopyOptions() + CSV_HEADER_OPTION : format.getCopyOptions();
+        var sql = EXPORT_SQL.formatted(options);
+
+        try (var connection = dataSource.getConnection()) {
+            var exported = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, outputStream);
+
+            log.debug("{} tasks exported", exported);
+
+            return exported;
+        } catch (SQLException exception) {
+            throw new UncategorizedSQLException("Task export", sql, exception);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public TaskImportResult importTasks(TaskCopyFormat format, InputStream inputStream) {
+        log.debug("Importing tasks as {}", format);
+
+        var sql = IMPORT_SQL.formatted(format.getCopyOptions());
+        var errors = new ArrayList<TaskImportRowError>();
+        var created = new HashMap<StatusDueDate, Long>();
+        long row = 0;
+        long rejected = 0;
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            var lastTaskId = lastTaskId(connection);
+            stage(connection);
+            var copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+
+            try {
+                var reader = reader(format, inputStream);
+                var writer = writer(format, copyStream);
+                TaskRowReader.TaskRow taskRow;
+
+                while ((taskRow = reader.next()) != null) {
+                    row++;
+
+                    var taskDto = new TaskDto();
+                    var rowErrors = toTaskDto(taskRow, taskDto);
+
+                    if (!rowErrors.isEmpty()) {
+                        rejected++;
+
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add(new TaskImportRowError(row, rowErrors));
+                        }
+
+                        continue;
+                    }
+
+                    writer.write(taskDto);
+                    created.merge(new StatusDueDate(taskDto.getStatus(), taskDto.getDueDate()), 1L, Long::sum);
+                }
+
+                writer.finish();
+            } catch (IOException | RuntimeException exception) {
+                copyStream.cancelCopy();
+                connection.rollback();
+                throw exception;
+            }
+
+            var imported = copyStream.endCopy();
+
+            try {
+                insertStaged(connection);
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+
+            if (imported > 0) {
+                created.forEach((key, count) -> statisticsService.recordCreated(key.status(), key.dueDate(), count));
+                taskPageCache.invalidate();
+                taskDueService.trackInsertedAfter(lastTaskId);
+            }
+
+            log.debug("{} tasks imported, {} rejected", imported, rejected);
+
+            return TaskImportResult.builder()
+                    .imported(imported)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .build();
+        } catch (SQLException exception) {
+            throw new UncategorizedSQLException("Task import", sql, exception);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void stage(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(STAGE_SQL);
+        }
+    }
+
+    /**
+     * Moves the staged rows to the task table and records a change for each, so imported tasks reach the
+     * change feed like the ones created through the API. The feed's next poll publishes them.
+     */
+    private void insertStaged(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement(INSERT_SQL)) {
+            statement.setString(1, TaskChangeType.CREATED.name());
+            statement.setObject(2, OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+            statement.executeUpdate();
+        }
+    }
+
+    private static long lastTaskId(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(LAST_TASK_ID_SQL)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Applies the status conversion and the {@link TaskDto} constraints to a row.
+     */
+    private Map<String, String> toTaskDto(TaskRowReader.TaskRow taskRow, TaskDto taskDto) {
+        var errors = new LinkedHashMap<>(taskRow.errors());
+
+        taskDto.setTitle(taskRow.title());
+        taskDto.setDescription(taskRow.description());
+        taskDto.setDueDate(taskRow.dueDate());
+
+        if (taskRow.status() != null) {
+            try {
+                taskDto.setStatus(TaskStatus.valueOf(taskRow.status()));
+            } catch (IllegalArgumentException exception) {
+                errors.put("status", "Unknown task status " + taskRow.status());
+            }
+        }
+
+        validator.validate(taskDto).stream()
+                .collect(Collectors.toMap(violation -> violation.getPropertyPath().toString(), ConstraintViolation::getMessage,
+                        (first, second) -> first, LinkedHashMap::new))
+                .forEach(errors::putIfAbsent);
+
+        return errors;
+    }
+
+    private static TaskRowReader reader(TaskCopyFormat format, InputStream inputStream) throws IOException {
+        return switch (format) {
+            case CSV -> new TaskCsvReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+            case BINARY -> new TaskBinaryReader(new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE)));
+        };
+    }
+
+    private static TaskRowWriter writer(TaskCopyFormat format, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case CSV -> new TaskCsvWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            case BINARY -> new TaskBinaryWriter(new DataOutputStream(outputStream));
+        };
+    }
+
+    private record StatusDueDate(TaskStatus status, LocalDate dueDate) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.exception.InvalidTaskRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader for CSV with a header row, as written by {@code COPY ... WITH (FORMAT csv, HEADER)}.
+ * Columns are matched by name, unknown columns are ignored. As in PostgreSQL an unquoted empty field is null.
+ */
+class TaskCsvReader implements TaskRowReader {
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final String DUE_DATE = "due_date";
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int title = -1;
+    private int description = -1;
+    private int status = -1;
+    private int dueDate = -1;
+    private boolean endOfInput;
+
+    TaskCsvReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    @Override
+    public TaskRow next() throws IOException {
+        var record = readRecord();
+
+        if (record == null) {
+            return null;
+        }
+
+        var errors = new HashMap<String, String>();
+        LocalDate parsedDueDate = null;
+        var dueDateValue = value(record, dueDate);
+
+        if (dueDateValue != null) {
+            try {
+                parsedDueDate = LocalDate.parse(dueDateValue);
+            } catch (DateTimeParseException exception) {
+                errors.put("dueDate", "Task due date must be an ISO date");
+            }
+        }
+
+        return new TaskRow(value(record, title), value(record, description), value(record, status), parsedDueDate, errors);
+    }
+
+    private void readHeader() throws IOException {
+        var header = readRecord();
+
+        if (header == null) {
+            throw new InvalidTaskRequestException("CSV header row is missing");
+        }
+
+        for (int index = 0; index < header.size(); index++) {
+            var name = header.get(index) == null ? "" : header.get(index).trim().toLowerCase();
+
+            switch (name) {
+                case TITLE -> title = index;
+                case DESCRIPTION -> description = index;
+                case STATUS -> status = index;
+                case DUE_DATE, "duedate" -> dueDate = index;
+                default -> {
+                }
+            }
+        }
+
+        if (title < 0 || description < 0 || status < 0 || dueDate < 0) {
+            throw new InvalidTaskRequestException("CSV header must contain title, description, status and due_date");
+        }
+    }
+
+    private static String value(List<String> record, int index) {
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+
+        var record = new ArrayList<String>();
+        var quoted = false;
+        var wasQuoted = false;
+        field.setLength(0);
+
+        while (true) {
+            var next = reader.read();
+
+            if (next == -1) {
+                endOfInput = true;
+
+                if (quoted) {
+                    throw new InvalidTaskRequestException("CSV input ends inside a quoted field");
+                }
+
+                if (record.isEmpty() && field.isEmpty() && !wasQuoted) {
+                    return null;
+                }
+
+                record.add(fieldValue(wasQuoted));
+                return record;
+            }
+
+            var character = (char) next;
+
+            if (quoted) {
+                if (character == '"') {
+                    reader.mark(1);
+                    var following = reader.read();
+
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (character == ',') {
+                record.add(fieldValue(wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (character == '\n') {
+                if (record.isEmpty() && field.isEmpty() && !wasQuoted) {
+                    continue;
+                }
+
+                record.add(fieldValue(wasQuoted));
+                return record;
+            } else if (character != '\r') {
+                field.append(character);
+            }
+        }
+    }
+
+    private String fieldValue(boolean wasQuoted) {
+        return field.isEmpty() && !wasQuoted ? null : field.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.dto.TaskDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes rows for {@code COPY ... WITH (FORMAT csv)} without a header, every value quoted.
+ */
+class TaskCsvWriter implements TaskRowWriter {
+
+    private final Writer writer;
+
+    TaskCsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(TaskDto taskDto) throws IOException {
+        writeQuoted(taskDto.getTitle());
+        writer.write(',');
+        writeQuoted(taskDto.getDescription());
+        writer.write(',');
+        writer.write(taskDto.getStatus().name());
+        writer.write(',');
+        writer.write(taskDto.getDueDate().toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
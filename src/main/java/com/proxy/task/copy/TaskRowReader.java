@@ -0,0 +1,23 @@
+package com.proxy.task.copy;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Reads task rows one at a time from an import stream.
+ */
+interface TaskRowReader {
+
+    /**
+     * @return the next row, {@code null} at the end of the input
+     */
+    TaskRow next() throws IOException;
+
+    /**
+     * Field values of a row. Values that could not be converted are reported in {@code errors}
+     * and left {@code null}.
+     */
+    record TaskRow(String title, String description, String status, LocalDate dueDate, Map<String, String> errors) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.dto.TaskDto;
+
+import java.io.IOException;
+
+/**
+ * Encodes validated rows for {@code COPY task (title, description, status, due_date) FROM STDIN}.
+ */
+interface TaskRowWriter {
+
+    void write(TaskDto taskDto) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,254 @@
+package com.proxy.task.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary, using the read-only
+ * data source of {@link LazyConnectionDataSourceProxy}. The connection is only fetched when the first
+ * statement runs, after the transaction manager has published the read-only flag, so the choice depends
+ * on nothing but the transaction itself and holds on any thread that runs one.
+ * <p>
+ * Reads from a replica are as stale as its replication lag. With a maximum replication lag, replicas
+ * further behind than that, or whose lag cannot be determined, are skipped until they catch up, and
+ * read-only transactions fall back to the primary when no replica qualifies.
+ * <p>
+ * With a read-your-writes window, read-only transactions stay on the primary for that long after any
+ * read-write transaction committed, as a {@link TransactionExecutionListener} of the transaction manager.
+ * The window is tracked for the whole instance rather than per client, so it holds on every thread and
+ * also covers the cache refills that follow an eviction by the write: loaded from a replica that has not
+ * replayed the write yet, they would keep serving the old state until the cache entry expires.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements TransactionExecutionListener, Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String REPLICATION_LAG_QUERY = """
+            select coalesce(case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                                 else extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000 end, 0)
+            """;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaNames;
+    private final ReplicaSelection selection;
+    private final Duration maxReplicationLag;
+    private final long readYourWritesWindowNanos;
+    private final Map<String, LongAdder> routedConnections = new HashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<String> availableReplicas;
+    private volatile long writeWindowEnd = System.nanoTime();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaSelection selection,
+                                      Duration maxReplicationLag, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.selection = selection;
+        this.maxReplicationLag = maxReplicationLag;
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        this.availableReplicas = replicaNames;
+
+        routedConnections.put(PRIMARY, new LongAdder());
+        replicaNames.forEach(name -> routedConnections.put(name, new LongAdder()));
+
+        setTargetDataSource(new Routed(PRIMARY, primary));
+        if (!replicaNames.isEmpty()) {
+            setReadOnlyDataSource(new Replicas());
+        }
+    }
+
+    /**
+     * Names of the primary and replica targets.
+     */
+    public List<String> getTargetNames() {
+        var names = new ArrayList<String>(replicaNames.size() + 1);
+        names.add(PRIMARY);
+        names.addAll(replicaNames);
+        return names;
+    }
+
+    /**
+     * Connections routed to the target since startup.
+     */
+    public long getRoutedConnections(String target) {
+        return routedConnections.get(target).sum();
+    }
+
+    /**
+     * Replicas currently within the maximum replication lag.
+     */
+    public List<String> getAvailableReplicas() {
+        return availableReplicas;
+    }
+
+    /**
+     * Measures the replication lag of every replica and takes those too far behind out of rotation.
+     */
+    @Scheduled(fixedDelayString = "${task.datasource.routing.lag-check-interval:PT5S}")
+    public void checkReplicationLag() {
+        if (!maxReplicationLag.isPositive() || replicaNames.isEmpty()) {
+            return;
+        }
+
+        var available = new ArrayList<String>(replicaNames.size());
+        for (var name : replicaNames) {
+            try {
+                var lagMillis = new JdbcTemplate(replicas.get(name)).queryForObject(REPLICATION_LAG_QUERY, Double.class);
+                if (lagMillis != null && lagMillis <= maxReplicationLag.toMillis()) {
+                    available.add(name);
+                } else if (availableReplicas.contains(name)) {
+                    log.warn("Replica {} is {} ms behind the primary, reading from the other replicas", name, lagMillis);
+                }
+            } catch (RuntimeException e) {
+                if (availableReplicas.contains(name)) {
+                    log.warn("Replication lag of replica {} could not be determined, reading from the other replicas", name, e);
+                }
+            }
+        }
+
+        availableReplicas = List.copyOf(available);
+    }
+
+    /**
+     * Opens the read-your-writes window after a read-write transaction committed.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly() && readYourWritesWindowNanos > 0) {
+            writeWindowEnd = System.nanoTime() + readYourWritesWindowNanos;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.values().forEach(ReadWriteRoutingDataSource::closeQuietly);
+    }
+
+    private List<String> readCandidates() {
+        return System.nanoTime() - writeWindowEnd < 0 ? List.of() : availableReplicas;
+    }
+
+    private String selectReplica(List<String> candidates) {
+        return selection == ReplicaSelection.LEAST_LOADED ? leastLoadedReplica(candidates) : nextReplica(candidates);
+    }
+
+    private String nextReplica(List<String> candidates) {
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    private String leastLoadedReplica(List<String> candidates) {
+        var start = Math.floorMod(nextReplica.getAndIncrement(), candidates.size());
+        String selected = null;
+        var lowestLoad = Integer.MAX_VALUE;
+
+        // starting at a rotating offset spreads ties instead of always picking the first idle replica
+        for (int i = 0; i < candidates.size(); i++) {
+            var name = candidates.get((start + i) % candidates.size());
+            var load = load(replicas.get(name));
+
+            if (load < lowestLoad) {
+                lowestLoad = load;
+                selected = name;
+            }
+        }
+
+        return selected;
+    }
+
+    private static int load(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikariDataSource && hikariDataSource.getHikariPoolMXBean() != null) {
+            var pool = hikariDataSource.getHikariPoolMXBean();
+            return pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+
+        return 0;
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // shutting down, nothing left to do with a pool that fails to close
+            }
+        }
+    }
+
+    /**
+     * Counts the connections handed out by one target.
+     */
+    private class Routed extends DelegatingDataSource {
+
+        private final LongAdder counter;
+
+        Routed(String name, DataSource target) {
+            super(target);
+            this.counter = routedConnections.get(name);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var connection = super.getConnection();
+            counter.increment();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            var connection = super.getConnection(username, password);
+            counter.increment();
+            return connection;
+        }
+    }
+
+    /**
+     * Read-only data source spreading connections over the available replicas, the primary while the
+     * read-your-writes window is open.
+     */
+    private class Replicas extends AbstractDataSource {
+
+        private final Map<String, DataSource> routed = new HashMap<>();
+
+        Replicas() {
+            replicas.forEach((name, replica) -> routed.put(name, new Routed(name, replica)));
+            routed.put(PRIMARY, ReadWriteRoutingDataSource.this.getTargetDataSource());
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var candidates = readCandidates();
+            return routed.get(candidates.isEmpty() ? PRIMARY : selectReplica(candidates)).getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            var candidates = readCandidates();
+            return routed.get(candidates.isEmpty() ? PRIMARY : selectReplica(candidates)).getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.proxy.task.datasource;
+
+public enum ReplicaSelection {
+
+    /**
+     * Replicas take turns, spreading connections evenly when replicas are alike.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The replica with the fewest active and pending connections, which avoids a replica that has slowed down.
+     */
+    LEAST_LOADED
+}
@@ -0,0 +1,20 @@
+package com.proxy.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskBatchItemResult {
+    private int index;
+    private Long id;
+    private TaskBatchItemStatus status;
+    private TaskDto task;
+    private Map<String, String> errors;
+}
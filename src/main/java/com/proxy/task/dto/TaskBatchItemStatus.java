@@ -0,0 +1,10 @@
+package com.proxy.task.dto;
+
+public enum TaskBatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID
+}
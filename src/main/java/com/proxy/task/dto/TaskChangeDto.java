@@ -0,0 +1,23 @@
+package com.proxy.task.dto;
+
+import com.proxy.task.entity.TaskChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Change feed event, the id is the {@link com.proxy.task.entity.TaskChange#getPosition() position} of the change.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskChangeDto {
+    private Long id;
+    private Long taskId;
+    private TaskChangeType type;
+    private Instant occurredAt;
+}
@@ -0,0 +1,18 @@
+package com.proxy.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskCursorPage {
+    private List<TaskDto> content;
+    private int size;
+    private String nextCursor;
+}
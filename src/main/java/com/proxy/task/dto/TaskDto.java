@@ -3,6 +3,7 @@ package com.proxy.task.dto;
 import com.proxy.task.entity.TaskStatus;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,11 +18,14 @@ import java.time.LocalDate;
 public class TaskDto {
     private Long id;
     @NotNull(message = "Task title cannot be empty")
+    @Size(max = 255, message = "Task title cannot be longer than 255 characters")
     private String title;
     @NotNull(message = "Task description cannot be empty")
+    @Size(max = 255, message = "Task description cannot be longer than 255 characters")
     private String description;
     @NotNull(message = "Task status cannot be empty")
     private TaskStatus status;
     @NotNull(message = "Task due date cannot be empty")
     private LocalDate dueDate;
+    private Long version;
 }
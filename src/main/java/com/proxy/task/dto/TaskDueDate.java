@@ -0,0 +1,17 @@
+package com.proxy.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskDueDate {
+    private Long id;
+    private LocalDate dueDate;
+}
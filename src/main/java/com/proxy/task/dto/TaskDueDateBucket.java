@@ -0,0 +1,9 @@
+package com.proxy.task.dto;
+
+public enum TaskDueDateBucket {
+    OVERDUE,
+    TODAY,
+    NEXT_7_DAYS,
+    NEXT_30_DAYS,
+    LATER
+}
@@ -0,0 +1,21 @@
+package com.proxy.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskImportResult {
+    private long imported;
+    private long rejected;
+    /**
+     * Errors of the first rejected rows, capped to keep the response small.
+     */
+    private List<TaskImportRowError> errors;
+}
@@ -0,0 +1,20 @@
+package com.proxy.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskImportRowError {
+    /**
+     * One based number of the data row, not counting a CSV header.
+     */
+    private long row;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,7 @@
+package com.proxy.task.dto;
+
+public enum TaskIngestionStatus {
+    QUEUED,
+    PERSISTED,
+    FAILED
+}
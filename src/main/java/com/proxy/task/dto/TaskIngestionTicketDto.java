@@ -0,0 +1,23 @@
+package com.proxy.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class TaskIngestionTicketDto {
+    private UUID ticketId;
+    private TaskIngestionStatus status;
+    /**
+     * Id of the created task, set once the task is {@link TaskIngestionStatus#PERSISTED}.
+     */
+    private Long taskId;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,26 @@
+package com.proxy.task.dto;
+
+import com.proxy.task.entity.TaskStatus;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Partial update of a task: only the non-null fields are written.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskPatchDto {
+    @Size(max = 255, message = "Task title cannot be longer than 255 characters")
+    private String title;
+    @Size(max = 255, message = "Task description cannot be longer than 255 characters")
+    private String description;
+    private TaskStatus status;
+    private LocalDate dueDate;
+}
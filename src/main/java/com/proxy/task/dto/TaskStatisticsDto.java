@@ -0,0 +1,28 @@
+package com.proxy.task.dto;
+
+import com.proxy.task.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskStatisticsDto {
+    private long total;
+    private Map<TaskStatus, Long> countsByStatus;
+    private long overdue;
+    private Map<TaskStatus, Long> overdueByStatus;
+    /**
+     * Tasks that are not completed, by due date relative to {@link #asOf}.
+     */
+    private Map<TaskDueDateBucket, Long> dueDateHistogram;
+    private LocalDate asOf;
+    private Instant reconciledAt;
+}
@@ -0,0 +1,19 @@
+package com.proxy.task.dto;
+
+import com.proxy.task.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskStatusDueDate {
+    private Long id;
+    private TaskStatus status;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,17 @@
+package com.proxy.task.dto;
+
+import com.proxy.task.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatusDueDateCount {
+    private TaskStatus status;
+    private LocalDate dueDate;
+    private long count;
+}
@@ -0,0 +1,30 @@
+package com.proxy.task.due;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Flags overdue tasks on the change feed with an {@link TaskChangeType#OVERDUE} event.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class OverdueChangeHandler implements TaskOverdueHandler {
+
+    private final TaskChangeService taskChangeService;
+
+    @Override
+    @Transactional
+    public void onOverdue(List<TaskDto> tasks, LocalDate today) {
+        tasks.forEach(task -> taskChangeService.record(task.getId(), TaskChangeType.OVERDUE));
+    }
+}
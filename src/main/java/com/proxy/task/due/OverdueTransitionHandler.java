@@ -0,0 +1,87 @@
+package com.proxy.task.due;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.config.TaskDueProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.repository.TaskRepository;
+import com.proxy.task.service.TaskPageCache;
+import com.proxy.task.service.TaskStatisticsService;
+import com.proxy.task.service.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@code task.due.transitions} status changes to overdue tasks, one bulk update per
+ * source status. The rows are locked and read first, so changes and statistics are recorded only
+ * for the tasks still in a source status and overdue, whatever their status when they were polled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueTransitionHandler implements TaskOverdueHandler {
+
+    private final TaskRepository taskRepository;
+    private final TaskDueProperties dueProperties;
+    private final TaskStatisticsService statisticsService;
+    private final TaskChangeService taskChangeService;
+    private final TaskPageCache taskPageCache;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Transactional
+    public void onOverdue(List<TaskDto> tasks, LocalDate today) {
+        var transitions = dueProperties.getTransitions();
+
+        if (transitions.isEmpty()) {
+            return;
+        }
+
+        var taskIds = tasks.stream().map(TaskDto::getId).toList();
+        var tasksByStatus = taskRepository.lockStatusAndDueDates(taskIds).stream()
+                .filter(task -> transitions.containsKey(task.getStatus()))
+                .filter(task -> task.getDueDate() != null && task.getDueDate().isBefore(today))
+                .collect(Collectors.groupingBy(TaskStatusDueDate::getStatus));
+
+        var transitioned = 0;
+
+        for (var entry : tasksByStatus.entrySet()) {
+            var from = entry.getKey();
+            var to = transitions.get(from);
+            var locked = entry.getValue();
+            var lockedIds = locked.stream().map(TaskStatusDueDate::getId).toList();
+
+            taskRepository.transitionOverdue(lockedIds, from, to, today);
+
+            for (var task : locked) {
+                statisticsService.recordUpdated(from, task.getDueDate(), to, task.getDueDate());
+                taskChangeService.record(task.getId(), TaskChangeType.UPDATED);
+            }
+
+            evictAfterCommit(lockedIds);
+            transitioned += locked.size();
+        }
+
+        if (transitioned > 0) {
+            taskPageCache.invalidate();
+            log.info("{} overdue tasks transitioned", transitioned);
+        }
+    }
+
+    private void evictAfterCommit(List<Long> taskIds) {
+        var cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+
+        if (cache != null) {
+            TransactionCallbacks.afterCommit(() -> taskIds.forEach(cache::evict));
+        }
+    }
+}
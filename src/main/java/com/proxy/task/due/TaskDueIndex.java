@@ -0,0 +1,110 @@
+package com.proxy.task.due;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Open tasks ordered by due date, holding only due dates before {@link #getLoadedUntil()}.
+ * Taking the due tasks walks the head of the map, so it costs in proportion to the tasks
+ * returned and not to the number of tasks indexed.
+ */
+public class TaskDueIndex {
+
+    private final TreeMap<LocalDate, Set<Long>> tasksByDueDate = new TreeMap<>();
+    private final Map<Long, LocalDate> dueDates = new HashMap<>();
+
+    private LocalDate loadedUntil;
+
+    /**
+     * Drops all entries and accepts due dates before {@code until} from now on.
+     */
+    public synchronized void reset(LocalDate until) {
+        tasksByDueDate.clear();
+        dueDates.clear();
+        loadedUntil = until;
+    }
+
+    /**
+     * Accepts due dates before {@code until} from now on.
+     */
+    public synchronized void extendTo(LocalDate until) {
+        if (loadedUntil == null || until.isAfter(loadedUntil)) {
+            loadedUntil = until;
+        }
+    }
+
+    public synchronized LocalDate getLoadedUntil() {
+        return loadedUntil;
+    }
+
+    /**
+     * Indexes or moves the task, a due date beyond the loaded window removes it until the window reaches it.
+     */
+    public synchronized void put(Long taskId, LocalDate dueDate) {
+        remove(taskId);
+
+        if (loadedUntil != null && dueDate.isBefore(loadedUntil)) {
+            dueDates.put(taskId, dueDate);
+            tasksByDueDate.computeIfAbsent(dueDate, date -> new LinkedHashSet<>()).add(taskId);
+        }
+    }
+
+    /**
+     * Indexes the task unless it is already known, used for query results that may be older than tracked writes.
+     */
+    public synchronized void putIfAbsent(Long taskId, LocalDate dueDate) {
+        if (!dueDates.containsKey(taskId)) {
+            put(taskId, dueDate);
+        }
+    }
+
+    public synchronized void remove(Long taskId) {
+        var dueDate = dueDates.remove(taskId);
+
+        if (dueDate != null) {
+            var tasks = tasksByDueDate.get(dueDate);
+            tasks.remove(taskId);
+            if (tasks.isEmpty()) {
+                tasksByDueDate.remove(dueDate);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code limit} tasks due before {@code day}, earliest first.
+     */
+    public synchronized List<Long> pollDueBefore(LocalDate day, int limit) {
+        var polled = new ArrayList<Long>(Math.min(limit, dueDates.size()));
+
+        while (polled.size() < limit) {
+            var first = tasksByDueDate.firstEntry();
+            if (first == null || !first.getKey().isBefore(day)) {
+                break;
+            }
+
+            var iterator = first.getValue().iterator();
+            while (iterator.hasNext() && polled.size() < limit) {
+                var taskId = iterator.next();
+                iterator.remove();
+                dueDates.remove(taskId);
+                polled.add(taskId);
+            }
+
+            if (first.getValue().isEmpty()) {
+                tasksByDueDate.remove(first.getKey());
+            }
+        }
+
+        return polled;
+    }
+
+    public synchronized int size() {
+        return dueDates.size();
+    }
+}
@@ -0,0 +1,36 @@
+package com.proxy.task.due;
+
+import com.proxy.task.entity.TaskStatus;
+
+import java.time.LocalDate;
+
+public interface TaskDueService {
+
+    /**
+     * Schedules the task at its due date once the surrounding transaction commits,
+     * completed tasks and tasks without due date are unscheduled.
+     */
+    void track(Long taskId, TaskStatus status, LocalDate dueDate);
+
+    void untrack(Long taskId);
+
+    /**
+     * Reloads the schedule of a task whose new status or due date is not known to the caller.
+     */
+    void refresh(Long taskId);
+
+    /**
+     * Schedules the open tasks with an id above the given one, after inserts that bypassed the service.
+     */
+    void trackInsertedAfter(long lastTaskId);
+
+    /**
+     * Reloads the whole schedule, after writes that bypassed the service.
+     */
+    void rebuild();
+
+    /**
+     * Hands every task due before today to the overdue handlers.
+     */
+    void fireOverdue();
+}
@@ -0,0 +1,190 @@
+package com.proxy.task.due;
+
+import com.proxy.task.config.TaskDueProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskDueDate;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.repository.TaskRepository;
+import com.proxy.task.service.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory schedule of the open tasks due within {@code task.due.horizon}, kept current by the
+ * task writes and loaded with ranged due date queries, so finding the overdue tasks of a tick never
+ * scans the table. Polled tasks are re-read before the handlers run: entries loaded concurrently
+ * with a write may be stale, and a task whose due date moved is put back at its current date.
+ * Tasks of a handler that threw are handed to that handler again on the next tick.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskDueServiceImpl implements TaskDueService {
+
+    private final TaskRepository taskRepository;
+    private final TaskDueProperties dueProperties;
+    private final List<TaskOverdueHandler> overdueHandlers;
+    private final Clock clock;
+    private final TaskDueIndex index = new TaskDueIndex();
+
+    private Map<TaskOverdueHandler, List<Long>> retries = new LinkedHashMap<>();
+
+    @Override
+    public void track(Long taskId, TaskStatus status, LocalDate dueDate) {
+        TransactionCallbacks.afterCommit(() -> schedule(taskId, status, dueDate));
+    }
+
+    @Override
+    public void untrack(Long taskId) {
+        TransactionCallbacks.afterCommit(() -> index.remove(taskId));
+    }
+
+    @Override
+    public void refresh(Long taskId) {
+        TransactionCallbacks.afterCommit(() -> taskRepository.findDtoById(taskId).ifPresentOrElse(
+                task -> schedule(task.getId(), task.getStatus(), task.getDueDate()),
+                () -> index.remove(taskId)));
+    }
+
+    /**
+     * Only reads the new rows within the loaded window. Entries are added if absent, so writes committed
+     * meanwhile win as in {@link #rebuild}. Before the first rebuild there is nothing to add to.
+     */
+    @Override
+    public synchronized void trackInsertedAfter(long lastTaskId) {
+        var until = index.getLoadedUntil();
+
+        if (until == null) {
+            return;
+        }
+
+        var from = LocalDate.now(clock).minusDays(dueProperties.getCatchUp().toDays());
+
+        for (TaskDueDate task : taskRepository.findOpenDueBetweenWithIdAfter(lastTaskId, from, until)) {
+            index.putIfAbsent(task.getId(), task.getDueDate());
+        }
+    }
+
+    /**
+     * The window is opened before the query, so writes committing meanwhile are tracked and win
+     * over the possibly older query results.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        var today = LocalDate.now(clock);
+        var from = today.minusDays(dueProperties.getCatchUp().toDays());
+        var until = today.plusDays(dueProperties.getHorizon().toDays());
+
+        index.reset(until);
+        load(from, until);
+
+        log.info("Scheduled {} open tasks due before {}", index.size(), until);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${task.due.tick-interval:PT1M}")
+    public synchronized void fireOverdue() {
+        if (index.getLoadedUntil() == null) {
+            return;
+        }
+
+        var today = LocalDate.now(clock);
+        extendWindow(today);
+
+        // swapped first, so tasks failing again wait for the next tick instead of looping here
+        var failed = retries;
+        retries = new LinkedHashMap<>();
+        failed.forEach((handler, taskIds) -> retry(handler, taskIds, today));
+
+        List<Long> taskIds;
+        while (!(taskIds = index.pollDueBefore(today, dueProperties.getBatchSize())).isEmpty()) {
+            fire(taskIds, today);
+        }
+    }
+
+    private void extendWindow(LocalDate today) {
+        var loadedUntil = index.getLoadedUntil();
+        var until = today.plusDays(dueProperties.getHorizon().toDays());
+
+        if (until.isAfter(loadedUntil)) {
+            index.extendTo(until);
+            load(loadedUntil, until);
+        }
+    }
+
+    private void load(LocalDate from, LocalDate until) {
+        for (TaskDueDate task : taskRepository.findOpenDueBetween(from, until)) {
+            index.putIfAbsent(task.getId(), task.getDueDate());
+        }
+    }
+
+    private void retry(TaskOverdueHandler handler, List<Long> taskIds, LocalDate today) {
+        for (int from = 0; from < taskIds.size(); from += dueProperties.getBatchSize()) {
+            var overdue = readOverdue(taskIds.subList(from, Math.min(from + dueProperties.getBatchSize(), taskIds.size())), today);
+
+            if (!overdue.isEmpty()) {
+                handle(handler, overdue, today);
+            }
+        }
+    }
+
+    private void fire(List<Long> taskIds, LocalDate today) {
+        var overdue = readOverdue(taskIds, today);
+
+        if (overdue.isEmpty()) {
+            return;
+        }
+
+        log.debug("{} tasks overdue", overdue.size());
+
+        overdueHandlers.forEach(handler -> handle(handler, overdue, today));
+    }
+
+    private void handle(TaskOverdueHandler handler, List<TaskDto> overdue, LocalDate today) {
+        try {
+            handler.onOverdue(overdue, today);
+        } catch (RuntimeException exception) {
+            log.error("Overdue handler {} failed for {} tasks, retrying on the next tick", handler.getClass().getSimpleName(),
+                    overdue.size(), exception);
+            retries.computeIfAbsent(handler, key -> new ArrayList<>()).addAll(overdue.stream().map(TaskDto::getId).toList());
+        }
+    }
+
+    private List<TaskDto> readOverdue(List<Long> taskIds, LocalDate today) {
+        var overdue = new ArrayList<TaskDto>(taskIds.size());
+
+        for (var task : taskRepository.findDtosByIds(taskIds)) {
+            if (task.getStatus() == TaskStatus.COMPLETED || task.getDueDate() == null) {
+                continue;
+            }
+
+            if (task.getDueDate().isBefore(today)) {
+                overdue.add(task);
+            } else {
+                index.put(task.getId(), task.getDueDate());
+            }
+        }
+
+        return overdue;
+    }
+
+    private void schedule(Long taskId, TaskStatus status, LocalDate dueDate) {
+        if (status == TaskStatus.COMPLETED || dueDate == null) {
+            index.remove(taskId);
+        } else {
+            index.put(taskId, dueDate);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.proxy.task.due;
+
+import com.proxy.task.dto.TaskDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Receives open tasks whose due date has passed, in batches of at most {@code task.due.batch-size}.
+ * Each task is handed over once per due date while the service runs, and again on the next tick to a
+ * handler that threw, so handlers should be idempotent across retries and restarts.
+ */
+public interface TaskOverdueHandler {
+
+    void onOverdue(List<TaskDto> tasks, LocalDate today);
+}
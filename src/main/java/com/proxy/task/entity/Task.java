@@ -15,12 +15,15 @@ import java.time.LocalDate;
 @Builder
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String description;
     @Enumerated(EnumType.STRING)
     private TaskStatus status;
     private LocalDate dueDate;
+    @Version
+    private Long version;
 
 }
@@ -0,0 +1,34 @@
+package com.proxy.task.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox row written in the same transaction as the task change it describes. Once committed it is
+ * given its {@link #position}, which doubles as the event id of the change feed.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq")
+    @SequenceGenerator(name = "task_change_seq", sequenceName = "task_change_seq", allocationSize = 50)
+    private Long id;
+    private Long taskId;
+    @Enumerated(EnumType.STRING)
+    private TaskChangeType type;
+    private Instant occurredAt;
+    /**
+     * Publication order, assigned after commit by a single publisher. Unlike the id it never
+     * goes to a change that becomes visible after a later position, so resuming after it skips nothing.
+     */
+    private Long position;
+}
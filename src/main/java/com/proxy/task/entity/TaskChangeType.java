@@ -0,0 +1,8 @@
+package com.proxy.task.entity;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    OVERDUE
+}
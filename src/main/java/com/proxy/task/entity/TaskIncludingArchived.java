@@ -0,0 +1,35 @@
+package com.proxy.task.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view over the active and the archived tasks, for the queries that explicitly include the archive.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "task_including_archived")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskIncludingArchived {
+    @Id
+    private Long id;
+    private String title;
+    private String description;
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+    private LocalDate dueDate;
+    private Long version;
+}
@@ -0,0 +1,8 @@
+package com.proxy.task.exception;
+
+public class InvalidTaskRequestException extends RuntimeException {
+
+    public InvalidTaskRequestException(String message) {
+        super(message);
+    }
+}
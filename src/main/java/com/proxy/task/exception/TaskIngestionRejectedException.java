@@ -0,0 +1,17 @@
+package com.proxy.task.exception;
+
+import java.time.Duration;
+
+public class TaskIngestionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TaskIngestionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
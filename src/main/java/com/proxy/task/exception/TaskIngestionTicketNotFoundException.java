@@ -0,0 +1,8 @@
+package com.proxy.task.exception;
+
+public class TaskIngestionTicketNotFoundException extends RuntimeException {
+
+    public TaskIngestionTicketNotFoundException(String message) {
+        super(message);
+    }
+}
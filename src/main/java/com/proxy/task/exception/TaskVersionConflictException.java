@@ -0,0 +1,8 @@
+package com.proxy.task.exception;
+
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(String message) {
+        super(message);
+    }
+}
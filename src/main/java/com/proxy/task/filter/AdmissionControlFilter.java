@@ -0,0 +1,162 @@
+package com.proxy.task.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.proxy.task.admission.AdaptiveConcurrencyLimit;
+import com.proxy.task.admission.TaskEndpointClass;
+import com.proxy.task.admission.TokenBucket;
+import com.proxy.task.config.TaskAdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the task API. Each client is held to a token bucket, and each
+ * {@link TaskEndpointClass} to an {@link AdaptiveConcurrencyLimit} that follows the observed latency.
+ * Requests over either limit are rejected immediately with 429 and {@code Retry-After} rather than
+ * queued, so an expensive search burst cannot hold the connection pool while cheap reads wait.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String CHANGES_PATH = "/api/v1/tasks/changes";
+
+    private final TaskAdmissionProperties admissionProperties;
+    private final Ticker ticker;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<TaskEndpointClass, AdaptiveConcurrencyLimit> limits;
+
+    public AdmissionControlFilter(TaskAdmissionProperties admissionProperties, Ticker ticker,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.admissionProperties = admissionProperties;
+        this.ticker = ticker;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(admissionProperties.getMaxClients())
+                .expireAfterAccess(admissionProperties.getClientIdleTimeout())
+                .ticker(ticker)
+                .build();
+
+        var limits = new EnumMap<TaskEndpointClass, AdaptiveConcurrencyLimit>(TaskEndpointClass.class);
+        for (var endpointClass : TaskEndpointClass.values()) {
+            var limit = admissionProperties.limit(endpointClass);
+            limits.put(endpointClass, new AdaptiveConcurrencyLimit(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), limit.getTargetLatency().toNanos(), limit.getBackoffRatio()));
+        }
+        this.limits = Collections.unmodifiableMap(limits);
+    }
+
+    public Map<TaskEndpointClass, AdaptiveConcurrencyLimit> getLimits() {
+        return limits;
+    }
+
+    /**
+     * The change feed holds its request open indefinitely and is bounded by its own subscriber limits.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length()).startsWith(CHANGES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var endpointClass = TaskEndpointClass.of(request);
+
+        var waitNanos = buckets.get(clientId(request), client -> newBucket())
+                .tryConsume(ticker.read());
+        if (waitNanos > 0) {
+            reject(response, endpointClass, "rate", waitNanos);
+            return;
+        }
+
+        var limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            reject(response, endpointClass, "concurrency", admissionProperties.getRetryAfter().toNanos());
+            return;
+        }
+
+        var start = ticker.read();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(limit));
+            } else {
+                var now = ticker.read();
+                limit.release(now - start, now);
+            }
+        }
+    }
+
+    /**
+     * Keys the bucket on something the client cannot choose freely: the authenticated principal, or else
+     * the remote address. Behind a proxy the remote address is only the real client once
+     * {@code server.forward-headers-strategy} resolves it from the forwarded headers of trusted proxies.
+     */
+    private String clientId(HttpServletRequest request) {
+        var principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket newBucket() {
+        return new TokenBucket(admissionProperties.getClientRate(), admissionProperties.getClientBurst(), ticker.read());
+    }
+
+    private void reject(HttpServletResponse response, TaskEndpointClass endpointClass, String reason, long retryAfterNanos)
+            throws IOException {
+        meterRegistry.ifAvailable(registry -> Counter.builder("task.admission.rejected")
+                .tag("endpoint.class", endpointClass.name().toLowerCase())
+                .tag("reason", reason)
+                .register(registry)
+                .increment());
+
+        var retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, retry after " + retryAfterSeconds + "s");
+    }
+
+    /**
+     * Streaming responses keep their permit until the async request completes, without feeding
+     * their duration into the latency based limit.
+     */
+    private record ReleasingAsyncListener(AdaptiveConcurrencyLimit limit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.proxy.task.filter;
+
+import com.proxy.task.config.TaskLoggingProperties;
+import com.proxy.task.metrics.RequestStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the Hibernate statements and entity loads of each request as distribution summaries
+ * tagged like {@code http.server.requests}, and writes a structured request log line for a sample
+ * of the requests plus every slow or failed one.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RequestTelemetryFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final TaskLoggingProperties loggingProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var statistics = RequestStatistics.start();
+        var start = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.stop();
+
+            var durationNanos = System.nanoTime() - start;
+            var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                    ? pattern
+                    : UNKNOWN_URI;
+
+            record(request.getMethod(), uri, statistics);
+            log(request, response, uri, durationNanos, statistics);
+        }
+    }
+
+    private void record(String method, String uri, RequestStatistics statistics) {
+        meterRegistry.ifAvailable(registry -> {
+            summary(registry, "task.http.statements", method, uri).record(statistics.getStatements());
+            summary(registry, "task.http.entity.loads", method, uri).record(statistics.getEntityLoads());
+        });
+    }
+
+    private DistributionSummary summary(MeterRegistry registry, String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry);
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, String uri, long durationNanos,
+                     RequestStatistics statistics) {
+        var slow = durationNanos >= loggingProperties.getSlowThreshold().toNanos();
+        var failed = response.getStatus() >= 500;
+
+        if (!slow && !failed && ThreadLocalRandom.current().nextDouble() >= loggingProperties.getSampleRate()) {
+            return;
+        }
+
+        (slow || failed ? log.atWarn() : log.atInfo())
+                .addKeyValue("http.request.method", request.getMethod())
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("http.route", uri)
+                .addKeyValue("http.response.status_code", response.getStatus())
+                .addKeyValue("event.duration", durationNanos)
+                .addKeyValue("task.statements", statistics.getStatements())
+                .addKeyValue("task.entity_loads", statistics.getEntityLoads())
+                .log("{} {} {} in {} ms", request.getMethod(), uri, response.getStatus(),
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    }
+}
@@ -0,0 +1,17 @@
+package com.proxy.task.ingestion;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskIngestionTicketDto;
+
+import java.util.UUID;
+
+/**
+ * Write-behind creation of tasks. A submitted task is only held in memory until its ticket
+ * reports {@link com.proxy.task.dto.TaskIngestionStatus#PERSISTED}.
+ */
+public interface TaskIngestionService {
+
+    TaskIngestionTicketDto submit(TaskDto taskDto);
+
+    TaskIngestionTicketDto findTicket(UUID ticketId);
+}
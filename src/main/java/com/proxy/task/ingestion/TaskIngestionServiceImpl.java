@@ -0,0 +1,248 @@
+package com.proxy.task.ingestion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxy.task.config.TaskIngestionProperties;
+import com.proxy.task.dto.TaskBatchItemStatus;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskIngestionStatus;
+import com.proxy.task.dto.TaskIngestionTicketDto;
+import com.proxy.task.exception.TaskIngestionRejectedException;
+import com.proxy.task.exception.TaskIngestionTicketNotFoundException;
+import com.proxy.task.service.TaskBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects submitted tasks in a bounded queue and writes them from a single flusher thread, one
+ * transaction per batch. A batch is closed when it reaches {@code batchSize} or when
+ * {@code flushInterval} has passed since its first task, so under load the commit cost is shared
+ * by the whole batch. On shutdown the web server stops first, then the queue is drained; tasks
+ * still unwritten after {@code shutdownTimeout} are reported as failed.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "task.ingestion", name = "enabled", havingValue = "true")
+public class TaskIngestionServiceImpl implements TaskIngestionService, SmartLifecycle {
+
+    private static final String QUEUE_FULL_MESSAGE = "Task ingestion queue is full";
+    private static final String TICKET_NOT_FOUND_MESSAGE = "Ingestion ticket %s not found";
+    private static final Map<String, String> NOT_STORED_ERRORS = Map.of("task", "Task could not be stored");
+    private static final Map<String, String> STOPPED_ERRORS = Map.of("task", "Task ingestion stopped before the task was stored");
+
+    private final TaskBatchService taskBatchService;
+    private final TaskIngestionProperties properties;
+    private final BlockingQueue<PendingTask> queue;
+    private final Cache<UUID, TaskIngestionTicketDto> tickets;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TaskIngestionServiceImpl(TaskBatchService taskBatchService, TaskIngestionProperties properties) {
+        this.taskBatchService = taskBatchService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTicketRetention())
+                .maximumSize(properties.getMaxTickets())
+                .build();
+    }
+
+    @Override
+    public TaskIngestionTicketDto submit(TaskDto taskDto) {
+        var ticket = TaskIngestionTicketDto.builder()
+                .ticketId(UUID.randomUUID())
+                .status(TaskIngestionStatus.QUEUED)
+                .build();
+
+        tickets.put(ticket.getTicketId(), ticket);
+
+        if (!running || !queue.offer(new PendingTask(ticket.getTicketId(), taskDto))) {
+            tickets.invalidate(ticket.getTicketId());
+            throw new TaskIngestionRejectedException(QUEUE_FULL_MESSAGE, properties.getRetryAfter());
+        }
+
+        return ticket;
+    }
+
+    @Override
+    public TaskIngestionTicketDto findTicket(UUID ticketId) {
+        var ticket = tickets.getIfPresent(ticketId);
+
+        if (ticket == null) {
+            throw new TaskIngestionTicketNotFoundException(TICKET_NOT_FOUND_MESSAGE.formatted(ticketId));
+        }
+
+        return ticket;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("task-ingestion-flusher").start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        try {
+            if (!flusher.join(properties.getShutdownTimeout())) {
+                // stops the flusher at its next wait, a batch it is writing is still completed
+                flusher.interrupt();
+                flusher.join(properties.getShutdownTimeout());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        var unwritten = new ArrayList<PendingTask>();
+        queue.drainTo(unwritten);
+
+        if (!unwritten.isEmpty()) {
+            log.warn("Task ingestion stopped with {} unwritten tasks", unwritten.size());
+            fail(unwritten, STOPPED_ERRORS);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        var batch = new ArrayList<PendingTask>(properties.getBatchSize());
+
+        while ((running || !queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                fail(batch, STOPPED_ERRORS);
+                return;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingTask> batch) throws InterruptedException {
+        var flushIntervalNanos = properties.getFlushInterval().toNanos();
+        var first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+
+        if (first == null) {
+            return;
+        }
+
+        batch.add(first);
+
+        var deadline = System.nanoTime() + flushIntervalNanos;
+
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+
+            var remaining = deadline - System.nanoTime();
+
+            if (batch.size() == properties.getBatchSize() || remaining <= 0) {
+                return;
+            }
+
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingTask> batch) {
+        var taskDtos = batch.stream().map(PendingTask::taskDto).toList();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var result = taskBatchService.saveAll(taskDtos);
+
+                for (var item : result.getItems()) {
+                    var ticketId = batch.get(item.getIndex()).ticketId();
+
+                    tickets.put(ticketId, item.getStatus() == TaskBatchItemStatus.CREATED
+                            ? persisted(ticketId, item.getTask().getId())
+                            : failed(ticketId, item.getErrors()));
+                }
+
+                log.debug("Flushed {} ingested tasks", batch.size());
+                return;
+            } catch (RuntimeException exception) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.error("Failed to write {} ingested tasks", batch.size(), exception);
+                    fail(batch, NOT_STORED_ERRORS);
+                    return;
+                }
+
+                log.warn("Writing {} ingested tasks failed, attempt {}", batch.size(), attempt, exception);
+
+                if (!backOff(attempt)) {
+                    log.warn("Task ingestion interrupted, {} ingested tasks are not retried", batch.size());
+                    fail(batch, STOPPED_ERRORS);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits before the next attempt, returns {@code false} with the interrupt flag restored when interrupted.
+     */
+    private boolean backOff(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(100L * attempt);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void fail(List<PendingTask> pendingTasks, Map<String, String> errors) {
+        pendingTasks.forEach(pending -> tickets.put(pending.ticketId(), failed(pending.ticketId(), errors)));
+    }
+
+    private static TaskIngestionTicketDto persisted(UUID ticketId, Long taskId) {
+        return TaskIngestionTicketDto.builder()
+                .ticketId(ticketId)
+                .status(TaskIngestionStatus.PERSISTED)
+                .taskId(taskId)
+                .build();
+    }
+
+    private static TaskIngestionTicketDto failed(UUID ticketId, Map<String, String> errors) {
+        return TaskIngestionTicketDto.builder()
+                .ticketId(ticketId)
+                .status(TaskIngestionStatus.FAILED)
+                .errors(errors)
+                .build();
+    }
+
+    private record PendingTask(UUID ticketId, TaskDto taskDto) {
+    }
+}
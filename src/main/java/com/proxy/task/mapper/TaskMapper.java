@@ -15,8 +15,11 @@ public interface TaskMapper {
 
     List<TaskDto> toDtoList(List<Task> tasks);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toEntity(TaskDto taskDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateTask(TaskDto dto, @MappingTarget Task task);
 }
@@ -0,0 +1,12 @@
+package com.proxy.task.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.statementPrepared();
+        return sql;
+    }
+}
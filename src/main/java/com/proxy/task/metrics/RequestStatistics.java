@@ -0,0 +1,50 @@
+package com.proxy.task.metrics;
+
+/**
+ * Hibernate work attributed to the request running on the current thread. Counting is a no-op
+ * outside of a request, e.g. for scheduled jobs or after the request has been handed to an async thread.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics start() {
+        var statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        var statistics = CURRENT.get();
+
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        var statistics = CURRENT.get();
+
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+}
@@ -0,0 +1,36 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.dto.TaskChangeDto;
+import com.proxy.task.entity.TaskChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    @Query("select new com.proxy.task.dto.TaskChangeDto(c.position, c.taskId, c.type, c.occurredAt) from TaskChange c where c.position > :position order by c.position")
+    List<TaskChangeDto> findDtosAfter(@Param("position") Long position, Limit limit);
+
+    @Query("select c from TaskChange c where c.position is null order by c.id")
+    List<TaskChange> findUnpublished(Limit limit);
+
+    @Query("select coalesce(max(c.position), 0) from TaskChange c")
+    long findLastPosition();
+
+    /**
+     * Serializes the publishers of all instances until the end of the transaction.
+     */
+    @Query(value = "select id from task_change_publisher where id = 1 for update", nativeQuery = true)
+    Integer lockPublisher();
+
+    @Modifying
+    @Query("delete from TaskChange c where c.occurredAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
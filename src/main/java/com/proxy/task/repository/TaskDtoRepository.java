@@ -0,0 +1,24 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskIncludingArchived;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification based reads that select straight into {@link TaskDto}, so no managed entities,
+ * dirty-checking snapshots or mapper copies are created.
+ */
+public interface TaskDtoRepository {
+
+    Page<TaskDto> findDtoPage(Specification<Task> specification, Pageable pageable);
+
+    Page<TaskDto> findDtoPageIncludingArchived(Specification<TaskIncludingArchived> specification, Pageable pageable);
+
+    List<TaskDto> findDtos(Specification<Task> specification, Sort sort, int limit);
+}
@@ -0,0 +1,94 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskIncludingArchived;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class TaskDtoRepositoryImpl implements TaskDtoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskDto> findDtoPage(Specification<Task> specification, Pageable pageable) {
+        return findDtoPage(Task.class, specification, pageable);
+    }
+
+    @Override
+    public Page<TaskDto> findDtoPageIncludingArchived(Specification<TaskIncludingArchived> specification, Pageable pageable) {
+        return findDtoPage(TaskIncludingArchived.class, specification, pageable);
+    }
+
+    @Override
+    public List<TaskDto> findDtos(Specification<Task> specification, Sort sort, int limit) {
+        return createQuery(Task.class, specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <T> Page<TaskDto> findDtoPage(Class<T> entityClass, Specification<T> specification, Pageable pageable) {
+        var query = createQuery(entityClass, specification, pageable.getSort());
+
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(entityClass, specification));
+    }
+
+    private <T> TypedQuery<TaskDto> createQuery(Class<T> entityClass, Specification<T> specification, Sort sort) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(TaskDto.class);
+        var root = query.from(entityClass);
+
+        query.select(criteriaBuilder.construct(TaskDto.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("status"),
+                root.get("dueDate"),
+                root.get("version")));
+
+        applySpecification(specification, root, query);
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    private <T> long count(Class<T> entityClass, Specification<T> specification) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(Long.class);
+        var root = query.from(entityClass);
+
+        query.select(criteriaBuilder.count(root));
+
+        applySpecification(specification, root, query);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <T> void applySpecification(Specification<T> specification, Root<T> root, CriteriaQuery<?> query) {
+        var predicate = specification.toPredicate(root, query, entityManager.getCriteriaBuilder());
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.entity.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Single statement writes that also return the status and due date the task had before, which the
+ * statistics deltas are computed from, without a locking read ahead of the write.
+ */
+public interface TaskModifyingRepository {
+
+    /**
+     * Partial update, null arguments keep the current column value. A non-null version makes the update
+     * conditional on the current version.
+     *
+     * @return the status and due date before the update, empty when the task does not exist or its version differs
+     */
+    Optional<TaskStatusDueDate> patchReturningPrevious(Long id, Long version, String title, String description,
+                                                       TaskStatus status, LocalDate dueDate);
+
+    /**
+     * Delete that, unlike {@code deleteById}, does not load the entity first. A non-null version makes the
+     * delete conditional on the current version.
+     *
+     * @return the status and due date of the deleted task, empty when the task does not exist or its version differs
+     */
+    Optional<TaskStatusDueDate> deleteReturningPrevious(Long id, Long version);
+}
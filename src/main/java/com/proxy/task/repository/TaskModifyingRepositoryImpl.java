@@ -0,0 +1,101 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PostgreSQL returns the previous values with {@code update ... from (select ... for update) returning}
+ * and {@code delete ... returning}, H2 with its {@code old table} of the statement. The locking subselect
+ * makes a concurrent update wait and then read the values it replaces, instead of the ones of its snapshot.
+ */
+public class TaskModifyingRepositoryImpl implements TaskModifyingRepository {
+
+    private static final String PATCH_ASSIGNMENTS = """
+            title = coalesce(cast(:title as varchar), t.title),
+            description = coalesce(cast(:description as varchar), t.description),
+            status = coalesce(cast(:status as varchar), t.status),
+            due_date = coalesce(cast(:dueDate as date), t.due_date),
+            version = t.version + 1
+            """;
+    private static final String VERSION_CONDITION = "(cast(:version as bigint) is null or t.version = cast(:version as bigint))";
+
+    private static final String PATCH_STATEMENT = """
+            update task t set %s
+            from (select id, status, due_date from task where id = :id for update) previous
+            where t.id = previous.id and %s
+            returning t.id, previous.status, previous.due_date
+            """.formatted(PATCH_ASSIGNMENTS, VERSION_CONDITION);
+    private static final String H2_PATCH_STATEMENT = """
+            select id, status, due_date from old table (update task t set %s where t.id = :id and %s)
+            """.formatted(PATCH_ASSIGNMENTS, VERSION_CONDITION);
+
+    private static final String DELETE_STATEMENT = """
+            delete from task t where t.id = :id and %s
+            returning t.id, t.status, t.due_date
+            """.formatted(VERSION_CONDITION);
+    private static final String H2_DELETE_STATEMENT = """
+            select id, status, due_date from old table (delete from task t where t.id = :id and %s)
+            """.formatted(VERSION_CONDITION);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean h2;
+
+    @Override
+    public Optional<TaskStatusDueDate> patchReturningPrevious(Long id, Long version, String title, String description,
+                                                              TaskStatus status, LocalDate dueDate) {
+        return previous(createQuery(isH2() ? H2_PATCH_STATEMENT : PATCH_STATEMENT)
+                .setParameter("id", id)
+                .setParameter("version", version)
+                .setParameter("title", title)
+                .setParameter("description", description)
+                .setParameter("status", status == null ? null : status.name())
+                .setParameter("dueDate", dueDate));
+    }
+
+    @Override
+    public Optional<TaskStatusDueDate> deleteReturningPrevious(Long id, Long version) {
+        return previous(createQuery(isH2() ? H2_DELETE_STATEMENT : DELETE_STATEMENT)
+                .setParameter("id", id)
+                .setParameter("version", version));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> createQuery(String statement) {
+        return entityManager.createNativeQuery(statement)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("status", String.class)
+                .addScalar("due_date", LocalDate.class)
+                .addSynchronizedEntityClass(Task.class);
+    }
+
+    private static Optional<TaskStatusDueDate> previous(NativeQuery<Object[]> query) {
+        List<Object[]> rows = query.getResultList();
+
+        return rows.stream()
+                .findFirst()
+                .map(row -> new TaskStatusDueDate((Long) row[0], row[1] == null ? null : TaskStatus.valueOf((String) row[1]),
+                        (LocalDate) row[2]));
+    }
+
+    private boolean isH2() {
+        if (h2 == null) {
+            h2 = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof H2Dialect;
+        }
+
+        return h2;
+    }
+}
@@ -1,11 +1,139 @@
 package com.proxy.task.repository;
 
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskDueDate;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.dto.TaskStatusDueDateCount;
 import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskDtoRepository,
+        TaskModifyingRepository {
+
+    String STREAM_FETCH_SIZE = "500";
+    String TASK_DTO_PROJECTION = "new com.proxy.task.dto.TaskDto(t.id, t.title, t.description, t.status, t.dueDate, t.version)";
+
+    @Query("select " + TASK_DTO_PROJECTION + " from Task t")
+    List<TaskDto> findAllDtos();
+
+    @Query("select " + TASK_DTO_PROJECTION + " from Task t where t.id = :id")
+    Optional<TaskDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Reads all tasks through a server-side cursor. Must be consumed inside a transaction
+     * and closed afterwards, otherwise the PostgreSQL driver falls back to buffering the whole result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select " + TASK_DTO_PROJECTION + " from Task t")
+    Stream<TaskDto> streamAll();
+
+    /**
+     * Relevance ordered full-text search over title and description. The document expression
+     * must stay identical to the one of {@code task_search_idx} for the GIN index to be used.
+     */
+    @Query(value = """
+            select t.* from task t
+            where to_tsvector('simple', coalesce(t.title, '') || ' ' || coalesce(t.description, '')) @@ plainto_tsquery('simple', :query)
+              and (cast(:status as varchar) is null or t.status = cast(:status as varchar))
+              and (cast(:dueDate as date) is null or t.due_date = cast(:dueDate as date))
+            order by ts_rank(to_tsvector('simple', coalesce(t.title, '') || ' ' || coalesce(t.description, '')), plainto_tsquery('simple', :query)) desc, t.id
+            """,
+            countQuery = """
+            select count(*) from task t
+            where to_tsvector('simple', coalesce(t.title, '') || ' ' || coalesce(t.description, '')) @@ plainto_tsquery('simple', :query)
+              and (cast(:status as varchar) is null or t.status = cast(:status as varchar))
+              and (cast(:dueDate as date) is null or t.due_date = cast(:dueDate as date))
+            """,
+            nativeQuery = true)
+    Page<Task> search(@Param("query") String query, @Param("status") String status, @Param("dueDate") LocalDate dueDate, Pageable pageable);
+
+    /**
+     * Locks the given tasks and reads the fields the statistics are kept by, so the bulk statements that
+     * follow in the same transaction know the state they replace.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.proxy.task.dto.TaskStatusDueDate(t.id, t.status, t.dueDate) from Task t where t.id in :ids")
+    List<TaskStatusDueDate> lockStatusAndDueDates(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.proxy.task.dto.TaskStatusDueDateCount(t.status, t.dueDate, count(t)) from Task t group by t.status, t.dueDate")
+    List<TaskStatusDueDateCount> countByStatusAndDueDate();
+
+    @Query("select " + TASK_DTO_PROJECTION + " from Task t where t.id in :ids")
+    List<TaskDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Open tasks due in {@code [from, to)}, served by the {@code (due_date, id)} index.
+     */
+    @Query("""
+            select new com.proxy.task.dto.TaskDueDate(t.id, t.dueDate) from Task t
+            where t.dueDate >= :from and t.dueDate < :to and t.status <> com.proxy.task.entity.TaskStatus.COMPLETED
+            """)
+    List<TaskDueDate> findOpenDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Open tasks due in {@code [from, to)} inserted after the given id, served by the id index.
+     */
+    @Query("""
+            select new com.proxy.task.dto.TaskDueDate(t.id, t.dueDate) from Task t
+            where t.id > :id and t.dueDate >= :from and t.dueDate < :to and t.status <> com.proxy.task.entity.TaskStatus.COMPLETED
+            """)
+    List<TaskDueDate> findOpenDueBetweenWithIdAfter(@Param("id") long id, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Moves the given tasks from one status to another, only if they are still in that status and overdue.
+     *
+     * @return number of transitioned tasks
+     */
+    @Modifying
+    @Query("""
+            update Task t set t.status = :to, t.version = t.version + 1
+            where t.id in :ids and t.status = :from and t.dueDate < :today
+            """)
+    int transitionOverdue(@Param("ids") Collection<Long> ids, @Param("from") TaskStatus from, @Param("to") TaskStatus to,
+                          @Param("today") LocalDate today);
+
+    /**
+     * Locks the next batch of completed tasks due before the cutoff, oldest first. Skips rows locked by
+     * a concurrent archival run, so several instances can archive side by side.
+     */
+    @Query(value = """
+            select t.id from task t
+            where t.status = 'COMPLETED' and t.due_date < :cutoff
+            order by t.due_date, t.id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockCompletedDueBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
 
+    @Modifying
+    @Query(value = """
+            insert into task_archive (id, title, description, status, due_date, version, archived_at)
+            select t.id, t.title, t.description, t.status, t.due_date, t.version, :archivedAt from task t
+            where t.id in :ids
+            """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
 }
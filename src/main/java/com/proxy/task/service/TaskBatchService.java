@@ -0,0 +1,15 @@
+package com.proxy.task.service;
+
+import com.proxy.task.dto.TaskBatchResult;
+import com.proxy.task.dto.TaskDto;
+
+import java.util.List;
+
+public interface TaskBatchService {
+
+    TaskBatchResult saveAll(List<TaskDto> taskDtos);
+
+    TaskBatchResult updateAll(List<TaskDto> taskDtos);
+
+    TaskBatchResult deleteAll(List<Long> taskIds);
+}
@@ -0,0 +1,298 @@
+package com.proxy.task.service;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.dto.TaskBatchItemResult;
+import com.proxy.task.dto.TaskBatchItemStatus;
+import com.proxy.task.dto.TaskBatchResult;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.due.TaskDueService;
+import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.mapper.TaskMapper;
+import com.proxy.task.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
+public class TaskBatchServiceImpl implements TaskBatchService {
+
+    /**
+     * Items are processed in chunks: the persistence context is flushed and cleared after each chunk
+     * and id lists stay far below the PostgreSQL bind parameter limit.
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String TASK_EMPTY_MESSAGE = "Task cannot be empty";
+    private static final String TASK_ID_EMPTY_MESSAGE = "Task id cannot be empty";
+    private static final Set<TaskBatchItemStatus> SUCCESS_STATUSES =
+            EnumSet.of(TaskBatchItemStatus.CREATED, TaskBatchItemStatus.UPDATED, TaskBatchItemStatus.DELETED);
+
+    private final TaskMapper taskMapper;
+    private final TaskRepository taskRepository;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final TaskStatisticsService statisticsService;
+    private final TaskChangeService taskChangeService;
+    private final TaskPageCache taskPageCache;
+    private final TaskDueService taskDueService;
+
+    @Override
+    @Transactional
+    public TaskBatchResult saveAll(List<TaskDto> taskDtos) {
+        log.debug("Saving batch of {} tasks", taskDtos.size());
+
+        var results = new TaskBatchItemResult[taskDtos.size()];
+        var saved = new LinkedHashMap<Integer, Task>();
+
+        for (int index = 0; index < taskDtos.size(); index++) {
+            var taskDto = taskDtos.get(index);
+
+            if (taskDto == null) {
+                results[index] = invalid(index, null, Map.of("task", TASK_EMPTY_MESSAGE));
+                continue;
+            }
+
+            var errors = validate(taskDto);
+
+            if (!errors.isEmpty()) {
+                results[index] = invalid(index, taskDto.getId(), errors);
+                continue;
+            }
+
+            var task = taskMapper.toEntity(taskDto);
+            task.setId(null);
+
+            var savedTask = taskRepository.save(task);
+            statisticsService.recordCreated(savedTask.getStatus(), savedTask.getDueDate());
+            taskChangeService.record(savedTask.getId(), TaskChangeType.CREATED);
+            taskDueService.track(savedTask.getId(), savedTask.getStatus(), savedTask.getDueDate());
+            saved.put(index, savedTask);
+
+            if (saved.size() == CHUNK_SIZE) {
+                flushAndReport(saved, TaskBatchItemStatus.CREATED, results);
+            }
+        }
+
+        flushAndReport(saved, TaskBatchItemStatus.CREATED, results);
+        taskPageCache.invalidate();
+
+        var result = summarize(Arrays.asList(results));
+
+        log.debug("Batch of {} tasks saved, {} rejected", result.getSucceeded(), result.getFailed());
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResult updateAll(List<TaskDto> taskDtos) {
+        log.debug("Updating batch of {} tasks", taskDtos.size());
+
+        var results = new TaskBatchItemResult[taskDtos.size()];
+
+        for (int from = 0; from < taskDtos.size(); from += CHUNK_SIZE) {
+            var to = Math.min(from + CHUNK_SIZE, taskDtos.size());
+            var taskIds = new ArrayList<Long>(to - from);
+            var updated = new LinkedHashMap<Integer, Task>();
+
+            for (int index = from; index < to; index++) {
+                var taskDto = taskDtos.get(index);
+
+                if (taskDto == null) {
+                    results[index] = invalid(index, null, Map.of("task", TASK_EMPTY_MESSAGE));
+                    continue;
+                }
+
+                var errors = validate(taskDto);
+
+                if (Objects.isNull(taskDto.getId())) {
+                    errors.put("id", TASK_ID_EMPTY_MESSAGE);
+                }
+
+                if (errors.isEmpty()) {
+                    taskIds.add(taskDto.getId());
+                } else {
+                    results[index] = invalid(index, taskDto.getId(), errors);
+                }
+            }
+
+            var tasks = taskRepository.findAllById(taskIds).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            for (int index = from; index < to; index++) {
+                if (results[index] != null) {
+                    continue;
+                }
+
+                var taskDto = taskDtos.get(index);
+                var task = tasks.get(taskDto.getId());
+
+                if (task == null) {
+                    results[index] = notFound(index, taskDto.getId());
+                    continue;
+                }
+
+                if (taskDto.getVersion() != null && !taskDto.getVersion().equals(task.getVersion())) {
+                    results[index] = TaskBatchItemResult.builder()
+                            .index(index)
+                            .id(taskDto.getId())
+                            .status(TaskBatchItemStatus.CONFLICT)
+                            .build();
+                    continue;
+                }
+
+                var oldStatus = task.getStatus();
+                var oldDueDate = task.getDueDate();
+
+                taskMapper.updateTask(taskDto, task);
+                statisticsService.recordUpdated(oldStatus, oldDueDate, task.getStatus(), task.getDueDate());
+                taskChangeService.record(task.getId(), TaskChangeType.UPDATED);
+                taskDueService.track(task.getId(), task.getStatus(), task.getDueDate());
+                updated.put(index, task);
+            }
+
+            flushAndReport(updated, TaskBatchItemStatus.UPDATED, results);
+            evictAfterCommit(tasks.keySet());
+        }
+
+        taskPageCache.invalidate();
+
+        var result = summarize(Arrays.asList(results));
+
+        log.debug("Batch of {} tasks updated, {} rejected", result.getSucceeded(), result.getFailed());
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResult deleteAll(List<Long> taskIds) {
+        log.debug("Deleting batch of {} tasks", taskIds.size());
+
+        var results = new ArrayList<TaskBatchItemResult>(taskIds.size());
+
+        for (int from = 0; from < taskIds.size(); from += CHUNK_SIZE) {
+            var to = Math.min(from + CHUNK_SIZE, taskIds.size());
+            var chunk = taskIds.subList(from, to).stream().filter(Objects::nonNull).toList();
+            var existing = chunk.isEmpty() ? Map.<Long, TaskStatusDueDate>of() : taskRepository.lockStatusAndDueDates(chunk).stream()
+                    .collect(Collectors.toMap(TaskStatusDueDate::getId, Function.identity()));
+            var existingIds = Set.copyOf(existing.keySet());
+
+            if (!existingIds.isEmpty()) {
+                taskRepository.deleteAllByIdInBatch(existingIds);
+                evictAfterCommit(existingIds);
+            }
+
+            for (int index = from; index < to; index++) {
+                var taskId = taskIds.get(index);
+
+                if (Objects.isNull(taskId)) {
+                    results.add(invalid(index, null, Map.of("id", TASK_ID_EMPTY_MESSAGE)));
+                } else if (existing.containsKey(taskId)) {
+                    // removed so that a repeated id is reported as not found instead of being counted twice
+                    var old = existing.remove(taskId);
+                    statisticsService.recordDeleted(old.getStatus(), old.getDueDate());
+                    taskChangeService.record(taskId, TaskChangeType.DELETED);
+                    taskDueService.untrack(taskId);
+                    results.add(TaskBatchItemResult.builder().index(index).id(taskId).status(TaskBatchItemStatus.DELETED).build());
+                } else {
+                    results.add(notFound(index, taskId));
+                }
+            }
+        }
+
+        taskPageCache.invalidate();
+
+        var result = summarize(results);
+
+        log.debug("Batch of {} tasks deleted, {} not found or invalid", result.getSucceeded(), result.getFailed());
+
+        return result;
+    }
+
+    private Map<String, String> validate(TaskDto taskDto) {
+        return validator.validate(taskDto).stream()
+                .collect(Collectors.toMap(violation -> violation.getPropertyPath().toString(), ConstraintViolation::getMessage,
+                        (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private void evictAfterCommit(Collection<Long> taskIds) {
+        var cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+
+        if (cache != null) {
+            TransactionCallbacks.afterCommit(() -> taskIds.forEach(cache::evict));
+        }
+    }
+
+    /**
+     * Flushes the chunk before mapping its tasks, the versions are only incremented by the flush.
+     */
+    private void flushAndReport(Map<Integer, Task> tasks, TaskBatchItemStatus status, TaskBatchItemResult[] results) {
+        entityManager.flush();
+        entityManager.clear();
+
+        tasks.forEach((index, task) -> results[index] = success(index, status, taskMapper.toDto(task)));
+        tasks.clear();
+    }
+
+    private static TaskBatchItemResult success(int index, TaskBatchItemStatus status, TaskDto taskDto) {
+        return TaskBatchItemResult.builder()
+                .index(index)
+                .id(taskDto.getId())
+                .status(status)
+                .task(taskDto)
+                .build();
+    }
+
+    private static TaskBatchItemResult notFound(int index, Long taskId) {
+        return TaskBatchItemResult.builder()
+                .index(index)
+                .id(taskId)
+                .status(TaskBatchItemStatus.NOT_FOUND)
+                .build();
+    }
+
+    private static TaskBatchItemResult invalid(int index, Long taskId, Map<String, String> errors) {
+        return TaskBatchItemResult.builder()
+                .index(index)
+                .id(taskId)
+                .status(TaskBatchItemStatus.INVALID)
+                .errors(errors)
+                .build();
+    }
+
+    private static TaskBatchResult summarize(List<TaskBatchItemResult> results) {
+        var succeeded = (int) results.stream().filter(result -> SUCCESS_STATUSES.contains(result.getStatus())).count();
+
+        return TaskBatchResult.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .items(results)
+                .build();
+    }
+}
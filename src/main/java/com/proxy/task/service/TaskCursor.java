@@ -0,0 +1,121 @@
+package com.proxy.task.service;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Continuation token of the keyset pagination: the sort order of the page plus the sort key
+ * and id of its last row. Encoded as an opaque url-safe string for clients.
+ * <p>
+ * The sort key is typed by the sort property, a {@link String} title, a {@link TaskStatus} or a
+ * {@link LocalDate} due date, and {@code null} when the last row had none or the page is sorted by id.
+ */
+public record TaskCursor(Sort.Order order, Comparable<?> value, Long id) {
+
+    public static final String ID = "id";
+    public static final String TITLE = "title";
+    public static final String STATUS = "status";
+    public static final String DUE_DATE = "dueDate";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(ID, TITLE, STATUS, DUE_DATE);
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor %s";
+
+    public static Sort.Order resolveOrder(Sort sort) {
+        var orders = sort.toList();
+
+        if (orders.isEmpty()) {
+            return Sort.Order.asc(ID);
+        }
+
+        if (orders.size() > 1 || !SORTABLE_PROPERTIES.contains(orders.get(0).getProperty())) {
+            throw new InvalidTaskRequestException("Cursor pagination supports a single sort by one of " + SORTABLE_PROPERTIES);
+        }
+
+        return orders.get(0);
+    }
+
+    /**
+     * Sort of the rows with a sort key, ties are broken by id. The rows without one follow in either
+     * direction, sorted by {@link #idSort} alone.
+     */
+    public static Sort seekSort(Sort.Order order) {
+        if (ID.equals(order.getProperty())) {
+            return Sort.by(order);
+        }
+
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID));
+    }
+
+    public static Sort idSort(Sort.Order order) {
+        return Sort.by(new Sort.Order(order.getDirection(), ID));
+    }
+
+    /**
+     * Whether the page continues within the rows having a sort key, {@code false} when sorted by id or once
+     * the cursor moved on to the rows without one.
+     */
+    public static boolean seeksSortKey(Sort.Order order, TaskCursor cursor) {
+        return !ID.equals(order.getProperty()) && (cursor == null || cursor.value() != null);
+    }
+
+    public static TaskCursor after(Sort.Order order, TaskDto taskDto) {
+        Comparable<?> value = switch (order.getProperty()) {
+            case TITLE -> taskDto.getTitle();
+            case STATUS -> taskDto.getStatus();
+            case DUE_DATE -> taskDto.getDueDate();
+            default -> null;
+        };
+
+        return new TaskCursor(order, value, taskDto.getId());
+    }
+
+    /**
+     * Parses and type checks the whole cursor, so a tampered one is rejected before any query is built.
+     */
+    public static TaskCursor decode(String cursor) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = decoded.split("\\|", 4);
+
+            if (parts.length < 3 || !SORTABLE_PROPERTIES.contains(parts[0])) {
+                throw new InvalidTaskRequestException(INVALID_CURSOR_MESSAGE.formatted(cursor));
+            }
+
+            var order = new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]);
+            var value = parts.length == 4 ? parseValue(parts[0], parts[3]) : null;
+
+            return new TaskCursor(order, value, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            throw new InvalidTaskRequestException(INVALID_CURSOR_MESSAGE.formatted(cursor));
+        }
+    }
+
+    /**
+     * A missing sort key is encoded by leaving out the last part, which keeps it apart from an empty title.
+     */
+    public String encode() {
+        var raw = value == null
+                ? String.join(SEPARATOR, order.getProperty(), order.getDirection().name(), id.toString())
+                : String.join(SEPARATOR, order.getProperty(), order.getDirection().name(), id.toString(), value.toString());
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Comparable<?> parseValue(String property, String value) {
+        return switch (property) {
+            case TITLE -> value;
+            case STATUS -> TaskStatus.valueOf(value);
+            case DUE_DATE -> LocalDate.parse(value);
+            default -> null;
+        };
+    }
+}
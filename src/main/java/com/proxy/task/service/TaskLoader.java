@@ -0,0 +1,193 @@
+package com.proxy.task.service;
+
+import com.proxy.task.config.TaskLoaderProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent task lookups. A lookup of an id that is already being loaded waits for that
+ * load instead of querying again. Multi-id lookups are collected for {@code task.loader.batch-window}
+ * and resolved together with one {@code IN} query per {@code task.loader.max-batch-size} ids, so
+ * concurrent callers share their round trips. Queries run in their own read-only transactions,
+ * waiting callers hold no connection, and no caller waits longer than {@code task.loader.load-timeout}.
+ */
+@Slf4j
+@Component
+public class TaskLoader implements DisposableBean {
+
+    private final TaskRepository taskRepository;
+    private final TaskLoaderProperties loaderProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<Long, CompletableFuture<TaskDto>> inFlight = new ConcurrentHashMap<>();
+    private Map<Long, CompletableFuture<TaskDto>> pending = new LinkedHashMap<>();
+
+    public TaskLoader(TaskRepository taskRepository, TaskLoaderProperties loaderProperties, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.loaderProperties = loaderProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Loads a single task right away, or waits for the load of the same id already in flight.
+     */
+    public Optional<TaskDto> load(Long taskId) {
+        var future = new CompletableFuture<TaskDto>();
+        var existing = inFlight.putIfAbsent(taskId, future);
+
+        if (existing != null) {
+            return Optional.ofNullable(await(existing));
+        }
+
+        expire(taskId, future);
+
+        try {
+            var task = transactionTemplate.execute(status -> taskRepository.findDtoById(taskId).orElse(null));
+            future.complete(task);
+            return Optional.ofNullable(task);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(taskId, future);
+        }
+    }
+
+    /**
+     * Loads the tasks with the next batch of ids.
+     *
+     * @return the existing tasks by id, ids of missing tasks are absent
+     */
+    public Map<Long, TaskDto> loadAll(Collection<Long> taskIds) {
+        var futures = new LinkedHashMap<Long, CompletableFuture<TaskDto>>();
+        var fullBatches = new ArrayList<Map<Long, CompletableFuture<TaskDto>>>();
+        var startsBatch = false;
+
+        // futures are installed before any batch containing them can be dispatched, the dispatch itself
+        // happens after the monitor is released
+        synchronized (this) {
+            for (var taskId : taskIds) {
+                if (futures.containsKey(taskId)) {
+                    continue;
+                }
+
+                var future = new CompletableFuture<TaskDto>();
+                var existing = inFlight.putIfAbsent(taskId, future);
+
+                if (existing != null) {
+                    futures.put(taskId, existing);
+                    continue;
+                }
+
+                expire(taskId, future);
+                futures.put(taskId, future);
+                startsBatch |= pending.isEmpty();
+                pending.put(taskId, future);
+
+                if (pending.size() >= loaderProperties.getMaxBatchSize()) {
+                    fullBatches.add(pending);
+                    pending = new LinkedHashMap<>();
+                }
+            }
+        }
+
+        if (startsBatch) {
+            CompletableFuture.delayedExecutor(loaderProperties.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS, dispatcher)
+                    .execute(() -> dispatch(takePending()));
+        }
+
+        fullBatches.forEach(batch -> dispatcher.execute(() -> dispatch(batch)));
+
+        var tasks = new LinkedHashMap<Long, TaskDto>();
+
+        futures.forEach((taskId, future) -> {
+            var task = await(future);
+
+            if (task != null) {
+                tasks.put(taskId, task);
+            }
+        });
+
+        return tasks;
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Fails the in-flight future after the load timeout, so that a lookup which is never dispatched cannot
+     * block its callers, and removes it from the in-flight map however it completes.
+     */
+    private void expire(Long taskId, CompletableFuture<TaskDto> future) {
+        future.orTimeout(loaderProperties.getLoadTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((task, exception) -> inFlight.remove(taskId, future));
+    }
+
+    private synchronized Map<Long, CompletableFuture<TaskDto>> takePending() {
+        var batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<TaskDto>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, TaskDto> tasks;
+
+        try {
+            tasks = transactionTemplate.execute(status -> taskRepository.findDtosByIds(batch.keySet())).stream()
+                    .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+        } catch (RuntimeException | Error e) {
+            log.warn("Failed to load batch of {} tasks", batch.size(), e);
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+
+        log.debug("Loaded batch of {} task ids, {} found", batch.size(), tasks.size());
+
+        batch.forEach((taskId, future) -> future.complete(tasks.get(taskId)));
+    }
+
+    private static TaskDto await(CompletableFuture<TaskDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof TimeoutException) {
+                throw new QueryTimeoutException("Timed out waiting for a task lookup", e.getCause());
+            }
+
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.proxy.task.service;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keys of the filtered page cache. Every key carries the generation current when the lookup started,
+ * and any committed write bumps the generation, so invalidating all pages is a single increment:
+ * entries of older generations are never looked up again and age out of the weight bounded cache.
+ */
+@Component
+public class TaskPageCache {
+
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int TASK_OVERHEAD = 96;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskPageKey key(String title, String description, TaskStatus status, LocalDate dueDate, int page, int size, Sort sort) {
+        return new TaskPageKey(generation.get(), emptyToNull(title), emptyToNull(description), status, dueDate, page, size,
+                sort == null ? Sort.unsorted() : sort);
+    }
+
+    /**
+     * Invalidates all cached pages once the surrounding transaction commits.
+     */
+    public void invalidate() {
+        TransactionCallbacks.afterCommit(generation::incrementAndGet);
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Approximate retained size in bytes of a cached page, used as its cache weight.
+     */
+    public static int weigh(Object key, Object value) {
+        var weight = ENTRY_OVERHEAD;
+
+        if (value instanceof Page<?> page) {
+            for (var content : page.getContent()) {
+                weight += TASK_OVERHEAD;
+                if (content instanceof TaskDto taskDto) {
+                    weight += 2 * (length(taskDto.getTitle()) + length(taskDto.getDescription()));
+                }
+            }
+        }
+
+        return weight;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    public record TaskPageKey(long generation, String title, String description, TaskStatus status, LocalDate dueDate,
+                              int page, int size, Sort sort) {
+    }
+}
@@ -1,23 +1,69 @@
 package com.proxy.task.service;
 
+import com.proxy.task.dto.TaskCursorPage;
 import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
 import com.proxy.task.entity.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
     List<TaskDto> findAll();
+
+    void streamAll(Consumer<TaskDto> consumer);
+
+    /**
+     * Served from the page cache until the next committed write.
+     */
     Page<TaskDto> findTaskPage(String title, String description, TaskStatus status, LocalDate dueDate, int page, int size, Sort sort);
 
+    /**
+     * Like {@link #findTaskPage} but always queries the database, replacing the cached page.
+     */
+    Page<TaskDto> refreshTaskPage(String title, String description, TaskStatus status, LocalDate dueDate, int page, int size, Sort sort);
+
+    /**
+     * Like {@link #findTaskPage} over the active and the archived tasks, never cached.
+     */
+    Page<TaskDto> findTaskPageIncludingArchived(String title, String description, TaskStatus status, LocalDate dueDate, int page, int size, Sort sort);
+
+    /**
+     * Tasks matching the search query, optionally narrowed by status and due date. With full-text search the
+     * query matches whole words of title and description, case-insensitively and without stemming, ordered by
+     * relevance; the like based fallback matches it as a case-sensitive substring, ordered by id. Title,
+     * description and sort only apply to listings and are rejected together with a query.
+     */
+    Page<TaskDto> searchTaskPage(String query, String title, String description, TaskStatus status, LocalDate dueDate, int page, int size,
+                                 Sort sort);
+
+    TaskCursorPage findTaskCursorPage(String title, String description, TaskStatus status, LocalDate dueDate, String cursor, int size, Sort sort);
+
+    /**
+     * Concurrent lookups of the same id share one query.
+     */
     TaskDto findById(Long taskId);
 
+    /**
+     * Tasks with the given ids in request order, unknown ids are skipped. Ids missing from the cache
+     * are loaded together with the ones requested concurrently by other callers.
+     */
+    List<TaskDto> findByIds(List<Long> taskIds);
+
+    Long findVersion(Long taskId);
+
     TaskDto save(TaskDto taskDto);
 
-    TaskDto update(Long taskId, TaskDto taskDto);
+    /**
+     * @param expectedVersion version the client based its change on, {@code null} to update unconditionally
+     */
+    TaskDto update(Long taskId, TaskDto taskDto, Long expectedVersion);
+
+    void patch(Long taskId, TaskPatchDto taskPatchDto, Long expectedVersion);
 
-    void delete(Long taskId);
+    void delete(Long taskId, Long expectedVersion);
 }
@@ -1,104 +1,377 @@
 package com.proxy.task.service;
 
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.config.TaskLoaderProperties;
+import com.proxy.task.config.TaskSearchProperties;
+import com.proxy.task.dto.TaskCursorPage;
 import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
+import com.proxy.task.due.TaskDueService;
 import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskChangeType;
 import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
 import com.proxy.task.exception.TaskNotFoundException;
+import com.proxy.task.exception.TaskVersionConflictException;
 import com.proxy.task.mapper.TaskMapper;
 import com.proxy.task.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
 public class TaskServiceImpl implements TaskService {
 
     private static final String TASK_NOT_FOUND_EXCEPTION_MESSAGE = "Task with id %d not found";
+    private static final String TASK_VERSION_CONFLICT_EXCEPTION_MESSAGE = "Task with id %d is not at version %d";
+    private static final String SEARCH_FILTER_EXCEPTION_MESSAGE = "Title, description and sort cannot be combined with a search query";
+    private static final String TASK_PAGE_KEY = "@taskPageCache.key(#title, #description, #taskStatus, #dueDate, #page, #size, #sort)";
 
     private final TaskMapper taskMapper;
     private final TaskRepository taskRepository;
+    private final TaskSearchProperties searchProperties;
+    private final TaskStatisticsService statisticsService;
+    private final TaskChangeService taskChangeService;
+    private final TaskPageCache taskPageCache;
+    private final TaskDueService taskDueService;
+    private final TaskLoader taskLoader;
+    private final TaskLoaderProperties loaderProperties;
+    private final CacheManager cacheManager;
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDto> findAll() {
-        log.info("Looking for all tasks");
+        log.debug("Looking for all tasks");
 
-        var tasks = taskRepository.findAll();
+        var tasks = taskRepository.findAllDtos();
 
-        log.info("{} tasks found", tasks.size());
+        log.debug("{} tasks found", tasks.size());
 
-        return taskMapper.toDtoList(tasks);
+        return tasks;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<TaskDto> consumer) {
+        log.debug("Streaming all tasks");
+
+        long streamed = 0;
+
+        try (var tasks = taskRepository.streamAll()) {
+            var iterator = tasks.iterator();
+
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                streamed++;
+            }
+        }
+
+        log.debug("{} tasks streamed", streamed);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_PAGES_CACHE, key = TASK_PAGE_KEY)
+    @Transactional(readOnly = true)
     public Page<TaskDto> findTaskPage(String title, String description, TaskStatus taskStatus, LocalDate dueDate, int page, int size, Sort sort) {
-        log.info("Looking for tasks page. Page = {}, size = {}, sort = {}", page, size, sort);
+        return loadTaskPage(title, description, taskStatus, dueDate, page, size, sort);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.TASK_PAGES_CACHE, key = TASK_PAGE_KEY)
+    @Transactional(readOnly = true)
+    public Page<TaskDto> refreshTaskPage(String title, String description, TaskStatus taskStatus, LocalDate dueDate, int page, int size, Sort sort) {
+        return loadTaskPage(title, description, taskStatus, dueDate, page, size, sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskDto> findTaskPageIncludingArchived(String title, String description, TaskStatus taskStatus, LocalDate dueDate, int page, int size, Sort sort) {
+        log.debug("Looking for tasks page including archived. Page = {}, size = {}, sort = {}", page, size, sort);
 
         var pageRequest = PageRequest.of(page, size, sort);
 
-        var filterSpecification = TaskSpecification.filterBy(title, description, taskStatus, dueDate);
+        var filterSpecification = TaskSpecification.filterIncludingArchived(title, description, taskStatus, dueDate);
+
+        var pageResponse = taskRepository.findDtoPageIncludingArchived(filterSpecification, pageRequest);
+
+        log.debug("Found {} tasks page including archived", pageResponse.getNumberOfElements());
+
+        return pageResponse;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskDto> searchTaskPage(String query, String title, String description, TaskStatus taskStatus, LocalDate dueDate,
+                                        int page, int size, Sort sort) {
+        log.debug("Searching tasks page. Query = {}, page = {}, size = {}", query, page, size);
+
+        if (StringUtils.hasLength(title) || StringUtils.hasLength(description) || sort.isSorted()) {
+            throw new InvalidTaskRequestException(SEARCH_FILTER_EXCEPTION_MESSAGE);
+        }
+
+        var pageRequest = PageRequest.of(page, size);
 
-        var pageResponse = taskRepository.findAll(filterSpecification, pageRequest);
+        Page<Task> pageResponse;
 
-        log.info("Found {} tasks page", pageRequest.getPageSize());
+        if (searchProperties.isFullTextEnabled()) {
+            var status = taskStatus == null ? null : taskStatus.name();
+            pageResponse = taskRepository.search(query, status, dueDate, pageRequest);
+        } else {
+            var searchSpecification = TaskSpecification.search(query)
+                    .and(TaskSpecification.filterBy(null, null, taskStatus, dueDate));
+            pageResponse = taskRepository.findAll(searchSpecification, pageRequest.withSort(Sort.by("id")));
+        }
+
+        log.debug("Found {} tasks matching query", pageResponse.getNumberOfElements());
 
         return pageResponse.map(taskMapper::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public TaskCursorPage findTaskCursorPage(String title, String description, TaskStatus taskStatus, LocalDate dueDate, String cursor, int size, Sort sort) {
+        log.debug("Looking for tasks after cursor. Size = {}, sort = {}", size, sort);
+
+        if (size < 1) {
+            throw new InvalidTaskRequestException("Page size must be positive");
+        }
+
+        var afterCursor = cursor == null ? null : TaskCursor.decode(cursor);
+        var order = afterCursor == null ? TaskCursor.resolveOrder(sort) : afterCursor.order();
+
+        var filterSpecification = TaskSpecification.filterBy(title, description, taskStatus, dueDate);
+        var seeksSortKey = TaskCursor.seeksSortKey(order, afterCursor);
+        var seekSpecification = filterSpecification;
+
+        if (afterCursor != null) {
+            seekSpecification = filterSpecification.and(TaskSpecification.after(afterCursor));
+        } else if (seeksSortKey) {
+            seekSpecification = filterSpecification.and(TaskSpecification.withSortKey(order));
+        }
+
+        var tasks = taskRepository.findDtos(seekSpecification,
+                seeksSortKey ? TaskCursor.seekSort(order) : TaskCursor.idSort(order), size + 1);
+
+        if (seeksSortKey && tasks.size() <= size) {
+            // the rows with a sort key ran out, the page continues with the rows without one
+            var withoutSortKey = taskRepository.findDtos(filterSpecification.and(TaskSpecification.withoutSortKey(order)),
+                    TaskCursor.idSort(order), size + 1 - tasks.size());
+            tasks = Stream.concat(tasks.stream(), withoutSortKey.stream()).toList();
+        }
+
+        var hasNext = tasks.size() > size;
+        var pageTasks = hasNext ? tasks.subList(0, size) : tasks;
+        var nextCursor = hasNext ? TaskCursor.after(order, pageTasks.get(size - 1)).encode() : null;
+
+        log.debug("Found {} tasks after cursor", pageTasks.size());
+
+        return TaskCursorPage.builder()
+                .content(pageTasks)
+                .size(pageTasks.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#taskId", sync = true)
     public TaskDto findById(Long taskId) {
-        log.info("Looking for task with id {}", taskId);
+        log.debug("Looking for task with id {}", taskId);
 
-        var optionalTask = taskRepository.findById(taskId);
+        var optionalTask = taskLoader.load(taskId);
         var task = optionalTask.orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId)));
 
-        log.info("Task with id {} found", taskId);
+        log.debug("Task with id {} found", taskId);
 
-        return taskMapper.toDto(task);
+        return task;
     }
 
     @Override
+    public List<TaskDto> findByIds(List<Long> taskIds) {
+        log.debug("Looking for {} tasks by id", taskIds.size());
+
+        if (taskIds.size() > loaderProperties.getMaxIds()) {
+            throw new InvalidTaskRequestException("At most %d task ids can be requested at once".formatted(loaderProperties.getMaxIds()));
+        }
+
+        if (taskIds.contains(null)) {
+            throw new InvalidTaskRequestException("Task ids must not be empty");
+        }
+
+        var cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        var tasks = new HashMap<Long, TaskDto>();
+        var missingIds = new LinkedHashSet<Long>();
+
+        for (var taskId : taskIds) {
+            var cachedTask = cache == null ? null : cache.get(taskId, TaskDto.class);
+
+            if (cachedTask != null) {
+                tasks.put(taskId, cachedTask);
+            } else {
+                missingIds.add(taskId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            var loadedTasks = taskLoader.loadAll(missingIds);
+
+            if (cache != null) {
+                loadedTasks.forEach(cache::putIfAbsent);
+            }
+
+            tasks.putAll(loadedTasks);
+        }
+
+        log.debug("Found {} of {} requested tasks, {} from cache", tasks.size(), taskIds.size(), taskIds.size() - missingIds.size());
+
+        return taskIds.stream()
+                .distinct()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Long findVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId)));
+    }
+
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#result.id")
     public TaskDto save(TaskDto taskDto) {
-        log.info("Saving new task");
+        log.debug("Saving new task");
 
         var task = taskMapper.toEntity(taskDto);
         var savedTask = taskRepository.save(task);
 
-        log.info("New task with id {} saved", savedTask.getId());
+        statisticsService.recordCreated(savedTask.getStatus(), savedTask.getDueDate());
+        taskChangeService.record(savedTask.getId(), TaskChangeType.CREATED);
+        taskPageCache.invalidate();
+        taskDueService.track(savedTask.getId(), savedTask.getStatus(), savedTask.getDueDate());
+
+        log.debug("New task with id {} saved", savedTask.getId());
 
         return taskMapper.toDto(savedTask);
     }
 
     @Override
-    public TaskDto update(Long taskId, TaskDto taskDto) {
-        log.info("Updating task with id {}", taskId);
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#taskId")
+    public TaskDto update(Long taskId, TaskDto taskDto, Long expectedVersion) {
+        log.debug("Updating task with id {}", taskId);
 
         var optionalTask = taskRepository.findById(taskId);
         var task = optionalTask.orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId)));
 
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskVersionConflictException(TASK_VERSION_CONFLICT_EXCEPTION_MESSAGE.formatted(taskId, expectedVersion));
+        }
+
+        var oldStatus = task.getStatus();
+        var oldDueDate = task.getDueDate();
+
         taskMapper.updateTask(taskDto, task);
 
-        var updatedTask = taskRepository.save(task);
+        // flushed so that the returned and cached task carry the incremented version
+        var updatedTask = taskRepository.saveAndFlush(task);
+
+        statisticsService.recordUpdated(oldStatus, oldDueDate, updatedTask.getStatus(), updatedTask.getDueDate());
+        taskChangeService.record(taskId, TaskChangeType.UPDATED);
+        taskPageCache.invalidate();
+        taskDueService.track(taskId, updatedTask.getStatus(), updatedTask.getDueDate());
 
-        log.info("Task with {} updated", taskId);
+        log.debug("Task with {} updated", taskId);
 
         return taskMapper.toDto(updatedTask);
     }
 
     @Override
-    public void delete(Long taskId) {
-        log.info("Deleting task with id {}", taskId);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#taskId")
+    public void patch(Long taskId, TaskPatchDto taskPatchDto, Long expectedVersion) {
+        log.debug("Patching task with id {}", taskId);
+
+        var changesStatistics = taskPatchDto.getStatus() != null || taskPatchDto.getDueDate() != null;
+
+        var previous = taskRepository.patchReturningPrevious(taskId, expectedVersion, taskPatchDto.getTitle(),
+                        taskPatchDto.getDescription(), taskPatchDto.getStatus(), taskPatchDto.getDueDate())
+                .orElseThrow(() -> missingOrConflicting(taskId, expectedVersion));
+
+        if (changesStatistics) {
+            statisticsService.recordUpdated(previous.getStatus(), previous.getDueDate(),
+                    taskPatchDto.getStatus() != null ? taskPatchDto.getStatus() : previous.getStatus(),
+                    taskPatchDto.getDueDate() != null ? taskPatchDto.getDueDate() : previous.getDueDate());
+        }
+        taskChangeService.record(taskId, TaskChangeType.UPDATED);
+        taskPageCache.invalidate();
+
+        if (changesStatistics) {
+            taskDueService.refresh(taskId);
+        }
+
+        log.debug("Task with id {} patched", taskId);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#taskId")
+    public void delete(Long taskId, Long expectedVersion) {
+        log.debug("Deleting task with id {}", taskId);
+
+        var previous = taskRepository.deleteReturningPrevious(taskId, expectedVersion)
+                .orElseThrow(() -> missingOrConflicting(taskId, expectedVersion));
+
+        statisticsService.recordDeleted(previous.getStatus(), previous.getDueDate());
+        taskChangeService.record(taskId, TaskChangeType.DELETED);
+        taskPageCache.invalidate();
+        taskDueService.untrack(taskId);
+
+        log.debug("Task with id {} deleted", taskId);
+    }
+
+    private Page<TaskDto> loadTaskPage(String title, String description, TaskStatus taskStatus, LocalDate dueDate, int page, int size, Sort sort) {
+        log.debug("Looking for tasks page. Page = {}, size = {}, sort = {}", page, size, sort);
+
+        var pageRequest = PageRequest.of(page, size, sort);
+
+        var filterSpecification = TaskSpecification.filterBy(title, description, taskStatus, dueDate);
+
+        var pageResponse = taskRepository.findDtoPage(filterSpecification, pageRequest);
+
+        log.debug("Found {} tasks page", pageResponse.getNumberOfElements());
+
+        return pageResponse;
+    }
 
-        taskRepository.deleteById(taskId);
+    private RuntimeException missingOrConflicting(Long taskId, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(taskId)) {
+            return new TaskVersionConflictException(TASK_VERSION_CONFLICT_EXCEPTION_MESSAGE.formatted(taskId, expectedVersion));
+        }
 
-        log.info("Task with id {} deleted", taskId);
+        return new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId));
     }
 }
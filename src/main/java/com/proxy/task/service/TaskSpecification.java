@@ -1,9 +1,16 @@
 package com.proxy.task.service;
 
 import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskIncludingArchived;
 import com.proxy.task.entity.TaskStatus;
 import io.micrometer.common.util.StringUtils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.sqm.internal.SqmCriteriaNodeBuilder;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -14,6 +21,17 @@ import java.util.Objects;
 public class TaskSpecification {
 
     public static Specification<Task> filterBy(String title, String description, TaskStatus status, LocalDate dueDate) {
+        return filter(title, description, status, dueDate);
+    }
+
+    /**
+     * Same filter as {@link #filterBy} over the active and the archived tasks.
+     */
+    public static Specification<TaskIncludingArchived> filterIncludingArchived(String title, String description, TaskStatus status, LocalDate dueDate) {
+        return filter(title, description, status, dueDate);
+    }
+
+    private static <T> Specification<T> filter(String title, String description, TaskStatus status, LocalDate dueDate) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
@@ -36,4 +54,73 @@ public class TaskSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Like based fallback of the full-text search, matching the term in title or description.
+     */
+    public static Specification<Task> search(String term) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.like(root.get("title"), "%" + term + "%"),
+                criteriaBuilder.like(root.get("description"), "%" + term + "%"));
+    }
+
+    /**
+     * Keyset predicate selecting the rows strictly after the cursor in its sort order. A cursor with a sort
+     * key seeks with the row value comparison {@code (sortKey, id) > (value, id)}, which PostgreSQL answers
+     * as an index range starting at the cursor and which never matches rows without sort key. Those follow
+     * in a second phase, see {@link #withoutSortKey}, and a cursor without value continues that phase by id.
+     */
+    public static Specification<Task> after(TaskCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            var ascending = cursor.order().isAscending();
+            Path<Long> id = root.get(TaskCursor.ID);
+
+            if (TaskCursor.ID.equals(cursor.order().getProperty())) {
+                return beyond(criteriaBuilder, id, cursor.id(), ascending);
+            }
+
+            Path<?> key = root.get(cursor.order().getProperty());
+
+            if (cursor.value() == null) {
+                return criteriaBuilder.and(criteriaBuilder.isNull(key), beyond(criteriaBuilder, id, cursor.id(), ascending));
+            }
+
+            return seek((SqmCriteriaNodeBuilder) criteriaBuilder, key, bindable(cursor.value()), id, cursor.id(), ascending);
+        };
+    }
+
+    /**
+     * First phase of a page sorted by a sort key: the rows having one.
+     */
+    public static Specification<Task> withSortKey(Sort.Order order) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get(order.getProperty()));
+    }
+
+    /**
+     * Second phase of a page sorted by a sort key: the rows without one, ordered by id.
+     */
+    public static Specification<Task> withoutSortKey(Sort.Order order) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get(order.getProperty()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(SqmCriteriaNodeBuilder nodeBuilder, Path<?> key, Object value, Path<Long> id, Long lastId,
+                                  boolean ascending) {
+        Expression keys = nodeBuilder.tuple(Object[].class, (SqmExpression<?>) key, (SqmExpression<?>) id);
+        Expression cursor = nodeBuilder.tuple(Object[].class, nodeBuilder.value(value), nodeBuilder.value(lastId));
+
+        return ascending ? nodeBuilder.greaterThan(keys, cursor) : nodeBuilder.lessThan(keys, cursor);
+    }
+
+    /**
+     * Statuses are stored by name, the parameter is bound as such instead of relying on type inference
+     * through the tuple.
+     */
+    private static Object bindable(Comparable<?> value) {
+        return value instanceof TaskStatus status ? status.name() : value;
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate beyond(CriteriaBuilder criteriaBuilder, Path<Y> key, Y value, boolean ascending) {
+        return ascending ? criteriaBuilder.greaterThan(key, value) : criteriaBuilder.lessThan(key, value);
+    }
 }
@@ -0,0 +1,28 @@
+package com.proxy.task.service;
+
+import com.proxy.task.dto.TaskStatisticsDto;
+import com.proxy.task.entity.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Task counts kept in memory and adjusted by the write paths. Adjustments are applied once the
+ * surrounding transaction commits; writes whose previous state is unknown mark the counters stale
+ * instead, which makes the next reconciliation against the database rebuild them.
+ */
+public interface TaskStatisticsService {
+
+    TaskStatisticsDto getStatistics();
+
+    void recordCreated(TaskStatus status, LocalDate dueDate);
+
+    void recordCreated(TaskStatus status, LocalDate dueDate, long count);
+
+    void recordUpdated(TaskStatus oldStatus, LocalDate oldDueDate, TaskStatus newStatus, LocalDate newDueDate);
+
+    void recordDeleted(TaskStatus status, LocalDate dueDate);
+
+    void markStale();
+
+    void reconcile();
+}
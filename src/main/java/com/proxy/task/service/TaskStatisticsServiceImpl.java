@@ -0,0 +1,222 @@
+package com.proxy.task.service;
+
+import com.proxy.task.dto.TaskDueDateBucket;
+import com.proxy.task.dto.TaskStatisticsDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskStatisticsServiceImpl implements TaskStatisticsService {
+
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong revision = new AtomicLong();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    /**
+     * Served from a snapshot that is only recomputed after a change or when the day rolls over.
+     */
+    @Override
+    public TaskStatisticsDto getStatistics() {
+        if (counters.get() == null) {
+            reconcile();
+        }
+
+        var today = LocalDate.now(clock);
+        var currentRevision = revision.get();
+        var cached = snapshot.get();
+
+        if (cached != null && cached.revision() == currentRevision && cached.day().equals(today)) {
+            return cached.statistics();
+        }
+
+        var statistics = counters.get().toStatistics(today);
+        snapshot.set(new Snapshot(currentRevision, today, statistics));
+
+        return statistics;
+    }
+
+    @Override
+    public void recordCreated(TaskStatus status, LocalDate dueDate) {
+        recordCreated(status, dueDate, 1);
+    }
+
+    @Override
+    public void recordCreated(TaskStatus status, LocalDate dueDate, long count) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.add(status, dueDate, count)));
+    }
+
+    @Override
+    public void recordUpdated(TaskStatus oldStatus, LocalDate oldDueDate, TaskStatus newStatus, LocalDate newDueDate) {
+        if (oldStatus == newStatus && Objects.equals(oldDueDate, newDueDate)) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> apply(current -> {
+            current.add(oldStatus, oldDueDate, -1);
+            current.add(newStatus, newDueDate, 1);
+        }));
+    }
+
+    @Override
+    public void recordDeleted(TaskStatus status, LocalDate dueDate) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.add(status, dueDate, -1)));
+    }
+
+    @Override
+    public void markStale() {
+        TransactionCallbacks.afterCommit(() -> stale.set(true));
+    }
+
+    /**
+     * Rebuilds the counters from one grouped query. Adjustments racing with the query may be counted
+     * twice or not at all, so they leave the counters stale and the next check reconciles again.
+     */
+    @Override
+    public synchronized void reconcile() {
+        var revisionBefore = revision.get();
+        stale.set(false);
+
+        var rebuilt = new Counters(clock.instant());
+
+        for (var row : taskRepository.countByStatusAndDueDate()) {
+            rebuilt.add(row.getStatus(), row.getDueDate(), row.getCount());
+        }
+
+        counters.set(rebuilt);
+
+        if (revision.getAndIncrement() != revisionBefore) {
+            stale.set(true);
+        }
+
+        log.debug("Task statistics reconciled, {} tasks", rebuilt.total());
+    }
+
+    @Scheduled(fixedDelayString = "${task.statistics.stale-check-interval:PT5S}")
+    public void reconcileIfStale() {
+        if (stale.get()) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.statistics.reconcile-interval:PT5M}")
+    public void reconcilePeriodically() {
+        reconcile();
+    }
+
+    private void apply(Consumer<Counters> change) {
+        var current = counters.get();
+
+        if (current != null) {
+            change.accept(current);
+            revision.incrementAndGet();
+        }
+    }
+
+    private record Snapshot(long revision, LocalDate day, TaskStatisticsDto statistics) {
+    }
+
+    private static final class Counters {
+
+        private final Instant reconciledAt;
+        private final Map<TaskStatus, LongAdder> byStatus = new EnumMap<>(TaskStatus.class);
+        private final Map<TaskStatus, ConcurrentSkipListMap<LocalDate, LongAdder>> byDueDate = new EnumMap<>(TaskStatus.class);
+
+        private Counters(Instant reconciledAt) {
+            this.reconciledAt = reconciledAt;
+
+            for (var status : TaskStatus.values()) {
+                byStatus.put(status, new LongAdder());
+                byDueDate.put(status, new ConcurrentSkipListMap<>());
+            }
+        }
+
+        private void add(TaskStatus status, LocalDate dueDate, long delta) {
+            if (status == null) {
+                return;
+            }
+
+            byStatus.get(status).add(delta);
+
+            if (dueDate != null) {
+                byDueDate.get(status).computeIfAbsent(dueDate, key -> new LongAdder()).add(delta);
+            }
+        }
+
+        private long total() {
+            return byStatus.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        private TaskStatisticsDto toStatistics(LocalDate today) {
+            var countsByStatus = new EnumMap<TaskStatus, Long>(TaskStatus.class);
+            var overdueByStatus = new EnumMap<TaskStatus, Long>(TaskStatus.class);
+            var histogram = new EnumMap<TaskDueDateBucket, Long>(TaskDueDateBucket.class);
+
+            for (var bucket : TaskDueDateBucket.values()) {
+                histogram.put(bucket, 0L);
+            }
+
+            for (var status : TaskStatus.values()) {
+                countsByStatus.put(status, byStatus.get(status).sum());
+
+                if (status == TaskStatus.COMPLETED) {
+                    continue;
+                }
+
+                var dueDates = byDueDate.get(status);
+                var overdue = sum(dueDates.headMap(today, false));
+
+                overdueByStatus.put(status, overdue);
+                histogram.merge(TaskDueDateBucket.OVERDUE, overdue, Long::sum);
+                histogram.merge(TaskDueDateBucket.TODAY, sum(dueDates.subMap(today, true, today, true)), Long::sum);
+                histogram.merge(TaskDueDateBucket.NEXT_7_DAYS, sum(dueDates.subMap(today, false, today.plusDays(7), true)), Long::sum);
+                histogram.merge(TaskDueDateBucket.NEXT_30_DAYS,
+                        sum(dueDates.subMap(today.plusDays(7), false, today.plusDays(30), true)), Long::sum);
+                histogram.merge(TaskDueDateBucket.LATER, sum(dueDates.tailMap(today.plusDays(30), false)), Long::sum);
+            }
+
+            return TaskStatisticsDto.builder()
+                    .total(countsByStatus.values().stream().mapToLong(Long::longValue).sum())
+                    .countsByStatus(countsByStatus)
+                    .overdue(histogram.get(TaskDueDateBucket.OVERDUE))
+                    .overdueByStatus(overdueByStatus)
+                    .dueDateHistogram(histogram)
+                    .asOf(today)
+                    .reconciledAt(reconciledAt)
+                    .build();
+        }
+
+        private static long sum(NavigableMap<LocalDate, LongAdder> counts) {
+            var sum = 0L;
+
+            for (var count : counts.values()) {
+                sum += count.sum();
+            }
+
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS task
+(
+    id          BIGINT NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    due_date    DATE,
+    version     BIGINT
+);
+
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
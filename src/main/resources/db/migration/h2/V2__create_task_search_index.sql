@@ -0,0 +1 @@
+-- Full-text search is PostgreSQL only, on H2 searches use the like fallback (task.search.full-text-enabled=false).
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS task_status_due_date_id_idx ON task (status, due_date, id);
+
+CREATE INDEX IF NOT EXISTS task_status_id_idx ON task (status, id);
+
+CREATE INDEX IF NOT EXISTS task_due_date_id_idx ON task (due_date, id);
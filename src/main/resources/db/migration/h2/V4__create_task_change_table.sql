@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS task_change
+(
+    id          BIGINT                   NOT NULL PRIMARY KEY,
+    task_id     BIGINT                   NOT NULL,
+    type        VARCHAR(16)              NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS task_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS task_change_occurred_at_idx ON task_change (occurred_at);
@@ -0,0 +1,5 @@
+-- Lets COPY and other plain SQL inserts omit id and version. Each nextval reserves a whole
+-- allocation block of the pooled Hibernate optimizer, so such ids never collide with Hibernate's.
+ALTER TABLE task ALTER COLUMN id SET DEFAULT nextval('task_seq');
+
+ALTER TABLE task ALTER COLUMN version SET DEFAULT 0;
@@ -0,0 +1,20 @@
+-- Partitioning is PostgreSQL only, on H2 the task table stays a plain table.
+CREATE TABLE IF NOT EXISTS task_archive
+(
+    id          BIGINT                   NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    due_date    DATE,
+    version     BIGINT,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS task_archive_due_date_id_idx ON task_archive (due_date, id);
+
+CREATE VIEW IF NOT EXISTS task_including_archived AS
+SELECT id, title, description, status, due_date, version
+FROM task
+UNION ALL
+SELECT id, title, description, status, due_date, version
+FROM task_archive;
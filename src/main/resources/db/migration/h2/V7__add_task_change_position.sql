@@ -0,0 +1,18 @@
+-- Lets plain SQL writers append to the outbox without going through Hibernate, see V5.
+ALTER TABLE task_change ALTER COLUMN id SET DEFAULT nextval('task_change_seq');
+
+-- Ids are drawn from pooled sequence blocks and do not follow commit order. The change feed
+-- resumes on position instead, assigned by a single publisher after the change has committed.
+ALTER TABLE task_change ADD COLUMN position BIGINT;
+
+UPDATE task_change SET position = id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS task_change_position_idx ON task_change (position);
+
+-- Locked by the publisher so that positions are assigned by one transaction at a time.
+CREATE TABLE IF NOT EXISTS task_change_publisher
+(
+    id INT NOT NULL PRIMARY KEY
+);
+
+INSERT INTO task_change_publisher (id) VALUES (1);
@@ -0,0 +1,18 @@
+-- Written to also apply on databases previously managed by ddl-auto=update (baselined at version 0).
+CREATE TABLE IF NOT EXISTS task
+(
+    id          BIGINT NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    due_date    DATE,
+    version     BIGINT
+);
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT;
+
+UPDATE task SET version = 0 WHERE version IS NULL;
+
+CREATE SEQUENCE IF NOT EXISTS task_seq INCREMENT BY 50;
+
+SELECT setval('task_seq', GREATEST((SELECT coalesce(max(id), 0) FROM task) + 50, (SELECT last_value FROM task_seq)));
@@ -0,0 +1,3 @@
+-- Must stay identical to the document expression of TaskRepository.search.
+CREATE INDEX IF NOT EXISTS task_search_idx ON task
+    USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
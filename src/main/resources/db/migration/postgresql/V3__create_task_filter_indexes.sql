@@ -0,0 +1,12 @@
+-- Indexes for the equality filters of TaskSpecification.filterBy combined with the (sort key, id)
+-- ordering used by the page and cursor endpoints. Built concurrently so existing tables stay writable,
+-- which makes Flyway run this script outside of a transaction.
+
+-- status filter, optionally with due date, sorted or seeked by due date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_status_due_date_id_idx ON task (status, due_date, id);
+
+-- status filter sorted or seeked by id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_status_id_idx ON task (status, id);
+
+-- due date filter, and due date ordering without a status filter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_due_date_id_idx ON task (due_date, id);
@@ -0,0 +1,76 @@
+-- Rebuilds task as a table range partitioned by due_date: one partition per month from two years back
+-- to three months ahead, and a default partition for rows without due date or outside those months.
+-- Later months are created by TaskPartitionManager. The data is copied, so on large tables run this
+-- migration in a maintenance window.
+--
+-- PostgreSQL only accepts unique constraints containing the partition key, and due_date is nullable,
+-- so ids stay unique through task_seq and are indexed without a constraint.
+ALTER TABLE task RENAME TO task_unpartitioned;
+
+CREATE TABLE task
+(
+    id          BIGINT NOT NULL DEFAULT nextval('task_seq'),
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    due_date    DATE,
+    version     BIGINT DEFAULT 0
+) PARTITION BY RANGE (due_date);
+
+CREATE TABLE task_default PARTITION OF task DEFAULT;
+
+DO
+$$
+    DECLARE
+        month      DATE := greatest(date_trunc('month', coalesce((SELECT min(due_date) FROM task_unpartitioned), current_date)),
+                                    date_trunc('month', current_date) - INTERVAL '24 months');
+        last_month DATE := date_trunc('month', current_date) + INTERVAL '3 months';
+    BEGIN
+        WHILE month <= last_month
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF task FOR VALUES FROM (%L) TO (%L)',
+                               'task_p' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+                month := (month + INTERVAL '1 month')::date;
+            END LOOP;
+    END
+$$;
+
+INSERT INTO task (id, title, description, status, due_date, version)
+SELECT id, title, description, status, due_date, coalesce(version, 0)
+FROM task_unpartitioned;
+
+DROP TABLE task_unpartitioned;
+
+-- Created on the parent, so every partition, including the ones attached later, gets its own copy.
+CREATE INDEX task_id_idx ON task (id);
+
+-- Must stay identical to the document expression of TaskRepository.search.
+CREATE INDEX task_search_idx ON task
+    USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
+
+CREATE INDEX task_status_due_date_id_idx ON task (status, due_date, id);
+
+CREATE INDEX task_status_id_idx ON task (status, id);
+
+CREATE INDEX task_due_date_id_idx ON task (due_date, id);
+
+-- Completed tasks moved out of the hot partitions by TaskArchiveService.
+CREATE TABLE task_archive
+(
+    id          BIGINT                   NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    due_date    DATE,
+    version     BIGINT,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX task_archive_due_date_id_idx ON task_archive (due_date, id);
+
+CREATE VIEW task_including_archived AS
+SELECT id, title, description, status, due_date, version
+FROM task
+UNION ALL
+SELECT id, title, description, status, due_date, version
+FROM task_archive;
@@ -0,0 +1,10 @@
+-- The partitioned task table cannot have a primary key on id alone, unique keys have to contain the
+-- partition key. Ids come from task_seq and are not checked otherwise, so an id given explicitly can be
+-- taken twice. This index at least rejects duplicate (id, due_date) pairs; rows with a null due_date are
+-- not compared, PostgreSQL 13 treats nulls as distinct.
+--
+-- It replaces task_id_idx for lookups by id. Those cannot be pruned to one partition and probe the index
+-- of every partition, so their cost grows with the number of partitions TaskPartitionManager keeps.
+CREATE UNIQUE INDEX task_id_due_date_key ON task (id, due_date);
+
+DROP INDEX task_id_idx;
@@ -0,0 +1,50 @@
+-- Turns task back into a plain table with a primary key on id. Partitioned by due_date it could not have
+-- one, duplicate ids went unchecked, and every lookup, update, delete and row lock by id probed the id
+-- index of each partition. Old completed tasks leave the table through TaskArchiveService instead, which
+-- keeps it and its indexes small without partitions. The data is copied, so on large tables run this
+-- migration in a maintenance window.
+DO
+$$
+    BEGIN
+        IF EXISTS (SELECT 1 FROM task GROUP BY id HAVING count(*) > 1) THEN
+            RAISE EXCEPTION 'task holds duplicate ids, resolve them before migrating';
+        END IF;
+    END
+$$;
+
+DROP VIEW task_including_archived;
+
+ALTER TABLE task RENAME TO task_partitioned;
+
+CREATE TABLE task
+(
+    id          BIGINT NOT NULL DEFAULT nextval('task_seq') PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    due_date    DATE,
+    version     BIGINT DEFAULT 0
+);
+
+INSERT INTO task (id, title, description, status, due_date, version)
+SELECT id, title, description, status, due_date, version
+FROM task_partitioned;
+
+DROP TABLE task_partitioned;
+
+-- Must stay identical to the document expression of TaskRepository.search.
+CREATE INDEX task_search_idx ON task
+    USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
+
+CREATE INDEX task_status_due_date_id_idx ON task (status, due_date, id);
+
+CREATE INDEX task_status_id_idx ON task (status, id);
+
+CREATE INDEX task_due_date_id_idx ON task (due_date, id);
+
+CREATE VIEW task_including_archived AS
+SELECT id, title, description, status, due_date, version
+FROM task
+UNION ALL
+SELECT id, title, description, status, due_date, version
+FROM task_archive;
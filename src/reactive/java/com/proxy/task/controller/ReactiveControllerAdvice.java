@@ -0,0 +1,27 @@
+package com.proxy.task.controller;
+
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of the validation handling in {@link ControllerAdvice}, which covers everything else.
+ */
+@RestControllerAdvice
+public class ReactiveControllerAdvice {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleReactiveValidationErrors(WebExchangeBindException exception) {
+
+        var errors = exception.getBindingResult().getFieldErrors()
+                .stream().collect(Collectors.toMap(FieldError::getField, DefaultMessageSourceResolvable::getDefaultMessage));
+
+        return ResponseEntity.badRequest().body(errors);
+    }
+}
@@ -0,0 +1,135 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.reactive.ReactiveTaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@code /api/v1/tasks} contract of {@link TaskController} on WebFlux, active with the {@code reactive} profile.
+ * Entity tags and conditional requests behave the same. The cursor page, batch, copy and change feed
+ * endpoints and the statistics are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    /**
+     * Encoded as a JSON array, or as one line per task with {@code Accept: application/x-ndjson}.
+     * Either way tasks are read from the database only as fast as the client consumes them.
+     */
+    @GetMapping
+    public Flux<TaskDto> findAllTasks() {
+        return taskService.findAll();
+    }
+
+    @GetMapping(params = "ids")
+    public Flux<TaskDto> findTasksByIds(@RequestParam List<Long> ids) {
+        return taskService.findByIds(ids);
+    }
+
+    @GetMapping("/page")
+    public Mono<ResponseEntity<Page<TaskDto>>> findTaskPage(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) LocalDate dueDate,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            Sort sort,
+            ServerWebExchange exchange) {
+        Mono<Page<TaskDto>> taskPage;
+
+        if (StringUtils.hasText(q)) {
+            taskPage = taskService.searchTaskPage(q, title, description, status, dueDate, page, size, sort);
+        } else if (includeArchived) {
+            taskPage = taskService.findTaskPageIncludingArchived(title, description, status, dueDate, page, size, sort);
+        } else {
+            taskPage = taskService.findTaskPage(title, description, status, dueDate, page, size, sort);
+        }
+
+        return taskPage.flatMap(tasks -> {
+            var eTag = TaskETags.of(tasks);
+
+            return exchange.checkNotModified(eTag)
+                    ? Mono.empty()
+                    : Mono.just(ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(tasks));
+        });
+    }
+
+    /**
+     * Conditional requests only resolve the task version, so a matching {@code If-None-Match}
+     * is answered with 304 without loading the task.
+     */
+    @GetMapping("/{taskId}")
+    public Mono<ResponseEntity<TaskDto>> findById(@PathVariable Long taskId, ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) == null) {
+            return taskService.findById(taskId).map(taskDto -> withETag(ResponseEntity.ok(), taskDto));
+        }
+
+        return taskService.findVersion(taskId)
+                .flatMap(version -> exchange.checkNotModified(TaskETags.of(version))
+                        ? Mono.empty()
+                        : taskService.findById(taskId).map(taskDto -> withETag(ResponseEntity.ok(), taskDto)));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TaskDto>> save(@RequestBody @Valid TaskDto taskDto) {
+        return taskService.save(taskDto).map(savedTask -> withETag(ResponseEntity.status(HttpStatus.CREATED), savedTask));
+    }
+
+    @PutMapping("/{taskId}")
+    public Mono<ResponseEntity<TaskDto>> update(@PathVariable Long taskId,
+                                                @RequestBody @Valid TaskDto taskDto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.update(taskId, taskDto, TaskETags.parseIfMatch(ifMatch)))
+                .map(updatedTask -> withETag(ResponseEntity.ok(), updatedTask));
+    }
+
+    @PatchMapping("/{taskId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> patch(@PathVariable Long taskId,
+                            @RequestBody @Valid TaskPatchDto taskPatchDto,
+                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.patch(taskId, taskPatchDto, TaskETags.parseIfMatch(ifMatch)));
+    }
+
+    @DeleteMapping("/{taskId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Long taskId,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.delete(taskId, TaskETags.parseIfMatch(ifMatch)));
+    }
+
+    private static ResponseEntity<TaskDto> withETag(ResponseEntity.BodyBuilder builder, TaskDto taskDto) {
+        var eTag = TaskETags.of(taskDto.getVersion());
+
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+
+        return builder.body(taskDto);
+    }
+}
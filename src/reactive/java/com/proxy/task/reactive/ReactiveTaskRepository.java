@@ -0,0 +1,324 @@
+package com.proxy.task.reactive;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking task queries over R2DBC. The filters are built with the semantics of
+ * {@link com.proxy.task.service.TaskSpecification#filterBy}: substring match on title and description,
+ * equality on status and due date. Result streams are read with a bounded fetch size, so rows are
+ * pulled from the server as the subscriber requests them instead of being buffered.
+ * <p>
+ * Every write appends its {@code task_change} outbox row in the same statement, through a data-modifying
+ * common table expression, so the change is recorded exactly when the task write commits.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "t.id, t.title, t.description, t.status, t.due_date, t.version";
+    private static final String RETURNING = " returning id, title, description, status, due_date, version";
+    // the row is locked before the update, so the previous values are exactly the ones the update replaces
+    private static final String FROM_PREVIOUS =
+            " from (select id, status, due_date from task where id = :id for update) previous where t.id = previous.id";
+    private static final String RETURNING_WITH_PREVIOUS = " returning t.id, t.title, t.description, t.status, t.due_date, t.version,"
+            + " previous.status as previous_status, previous.due_date as previous_due_date";
+    private static final String TASK_TABLE = "task";
+    private static final String TASK_INCLUDING_ARCHIVED_VIEW = "task_including_archived";
+    private static final String SEARCH_DOCUMENT = "to_tsvector('simple', coalesce(t.title, '') || ' ' || coalesce(t.description, ''))";
+    private static final int FETCH_SIZE = 500;
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "title", "t.title",
+            "description", "t.description",
+            "status", "t.status",
+            "dueDate", "t.due_date",
+            "version", "t.version");
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<TaskDto> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from task t")
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    public Mono<TaskDto> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from task t where t.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toDto(row))
+                .one();
+    }
+
+    public Flux<TaskDto> findByIds(Collection<Long> ids) {
+        return databaseClient.sql("select " + COLUMNS + " from task t where t.id in (:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("select t.version from task t where t.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Page<TaskDto>> findPage(String title, String description, TaskStatus status, LocalDate dueDate, Pageable pageable) {
+        return page(TASK_TABLE, filterBy(title, description, status, dueDate), orderBy(pageable.getSort()), pageable);
+    }
+
+    /**
+     * Like {@link #findPage}, including the archived tasks.
+     */
+    public Mono<Page<TaskDto>> findPageIncludingArchived(String title, String description, TaskStatus status, LocalDate dueDate,
+                                                         Pageable pageable) {
+        return page(TASK_INCLUDING_ARCHIVED_VIEW, filterBy(title, description, status, dueDate), orderBy(pageable.getSort()), pageable);
+    }
+
+    /**
+     * Full-text search ordered by relevance, the document expression matches {@code task_search_idx}.
+     */
+    public Mono<Page<TaskDto>> search(String query, TaskStatus status, LocalDate dueDate, Pageable pageable) {
+        var filter = new Filter();
+        filter.condition(SEARCH_DOCUMENT + " @@ plainto_tsquery('simple', :query)", "query", query);
+        filter.equal("t.status", "status", status == null ? null : status.name());
+        filter.equal("t.due_date", "dueDate", dueDate);
+
+        return page(TASK_TABLE, filter, " order by ts_rank(" + SEARCH_DOCUMENT + ", plainto_tsquery('simple', :query)) desc, t.id", pageable);
+    }
+
+    /**
+     * Like based fallback of {@link #search}, matching the term in title or description.
+     */
+    public Mono<Page<TaskDto>> searchLike(String term, TaskStatus status, LocalDate dueDate, Pageable pageable) {
+        var filter = new Filter();
+        filter.condition("(t.title like :term or t.description like :term)", "term", "%" + term + "%");
+        filter.equal("t.status", "status", status == null ? null : status.name());
+        filter.equal("t.due_date", "dueDate", dueDate);
+
+        return page(TASK_TABLE, filter, " order by t.id", pageable);
+    }
+
+    public Mono<TaskDto> insert(TaskDto taskDto) {
+        var spec = databaseClient.sql(recordingChange(
+                "insert into task (title, description, status, due_date) values (:title, :description, :status, :dueDate)" + RETURNING,
+                TaskChangeType.CREATED));
+
+        return bindFields(spec, taskDto.getTitle(), taskDto.getDescription(), taskDto.getStatus(), taskDto.getDueDate())
+                .map((row, metadata) -> toDto(row))
+                .one();
+    }
+
+    /**
+     * Replaces all fields of the task. A non-null version makes the update conditional on the current version.
+     *
+     * @return the updated task with its previous status and due date, empty when the task does not exist or its version differs
+     */
+    public Mono<TaskUpdate> update(Long id, Long version, TaskDto taskDto) {
+        var sql = """
+                update task t set title = :title, description = :description, status = :status, due_date = :dueDate,
+                    version = t.version + 1""" + FROM_PREVIOUS + versionCondition(version) + RETURNING_WITH_PREVIOUS;
+        var spec = bindId(databaseClient.sql(recordingChange(sql, TaskChangeType.UPDATED)), id, version);
+
+        return bindFields(spec, taskDto.getTitle(), taskDto.getDescription(), taskDto.getStatus(), taskDto.getDueDate())
+                .map((row, metadata) -> toUpdate(row))
+                .one();
+    }
+
+    /**
+     * Partial update, null arguments keep the current column value.
+     *
+     * @return the patched task with its previous status and due date, empty when the task does not exist or its version differs
+     */
+    public Mono<TaskUpdate> patch(Long id, Long version, String title, String description, TaskStatus status, LocalDate dueDate) {
+        var sql = """
+                update task t set
+                    title = coalesce(:title, t.title),
+                    description = coalesce(:description, t.description),
+                    status = coalesce(:status, t.status),
+                    due_date = coalesce(:dueDate, t.due_date),
+                    version = t.version + 1""" + FROM_PREVIOUS + versionCondition(version) + RETURNING_WITH_PREVIOUS;
+        var spec = bindId(databaseClient.sql(recordingChange(sql, TaskChangeType.UPDATED)), id, version);
+
+        return bindFields(spec, title, description, status, dueDate)
+                .map((row, metadata) -> toUpdate(row))
+                .one();
+    }
+
+    /**
+     * @return the deleted task, empty when the task does not exist or its version differs
+     */
+    public Mono<TaskDto> delete(Long id, Long version) {
+        var sql = recordingChange("delete from task where id = :id" + versionCondition(version) + RETURNING, TaskChangeType.DELETED);
+
+        return bindId(databaseClient.sql(sql), id, version)
+                .map((row, metadata) -> toDto(row))
+                .one();
+    }
+
+    /**
+     * Wraps a write returning task rows so that it also appends one outbox row per changed task.
+     */
+    private static String recordingChange(String write, TaskChangeType type) {
+        return """
+                with changed as (%s),
+                     change as (insert into task_change (task_id, type, occurred_at) select id, '%s', now() from changed)
+                select * from changed""".formatted(write, type.name());
+    }
+
+    private static Filter filterBy(String title, String description, TaskStatus status, LocalDate dueDate) {
+        var filter = new Filter();
+        filter.like("t.title", "title", title);
+        filter.like("t.description", "description", description);
+        filter.equal("t.status", "status", status == null ? null : status.name());
+        filter.equal("t.due_date", "dueDate", dueDate);
+        return filter;
+    }
+
+    private Mono<Page<TaskDto>> page(String table, Filter filter, String orderBy, Pageable pageable) {
+        var contentSql = "select " + COLUMNS + " from " + table + " t" + filter.where() + orderBy
+                + (pageable.isPaged() ? " limit :limit offset :offset" : "");
+        var contentSpec = filter.bind(databaseClient.sql(contentSql));
+
+        if (pageable.isPaged()) {
+            contentSpec = contentSpec.bind("limit", pageable.getPageSize()).bind("offset", pageable.getOffset());
+        }
+
+        var tasks = contentSpec.map((row, metadata) -> toDto(row)).all().collectList();
+        var count = filter.bind(databaseClient.sql("select count(*) from " + table + " t" + filter.where()))
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+
+        return Mono.zip(tasks, count, (content, total) -> new PageImpl<>(content, pageable, total));
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+
+        return sort.stream()
+                .map(order -> {
+                    var column = SORT_COLUMNS.get(order.getProperty());
+
+                    if (column == null) {
+                        throw new InvalidTaskRequestException("Tasks cannot be sorted by %s".formatted(order.getProperty()));
+                    }
+
+                    return column + (order.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+
+    private static String versionCondition(Long version) {
+        return version == null ? "" : " and version = :version";
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindId(DatabaseClient.GenericExecuteSpec spec, Long id, Long version) {
+        spec = spec.bind("id", id);
+
+        return version == null ? spec : spec.bind("version", version);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec, String title, String description,
+                                                                TaskStatus status, LocalDate dueDate) {
+        return spec
+                .bind("title", nullable(title, String.class))
+                .bind("description", nullable(description, String.class))
+                .bind("status", nullable(status == null ? null : status.name(), String.class))
+                .bind("dueDate", nullable(dueDate, LocalDate.class));
+    }
+
+    private static <T> Object nullable(T value, Class<T> type) {
+        return value == null ? Parameter.empty(type) : value;
+    }
+
+    private static TaskUpdate toUpdate(Row row) {
+        var previousStatus = row.get("previous_status", String.class);
+
+        return new TaskUpdate(toDto(row), previousStatus == null ? null : TaskStatus.valueOf(previousStatus),
+                row.get("previous_due_date", LocalDate.class));
+    }
+
+    private static TaskDto toDto(Row row) {
+        var status = row.get("status", String.class);
+
+        return new TaskDto(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                status == null ? null : TaskStatus.valueOf(status),
+                row.get("due_date", LocalDate.class),
+                row.get("version", Long.class));
+    }
+
+    /**
+     * An updated task along with the status and due date it had before.
+     */
+    public record TaskUpdate(TaskDto task, TaskStatus previousStatus, LocalDate previousDueDate) {
+    }
+
+    /**
+     * Where clause and bind values of a query, conditions are added only for the given filter values.
+     */
+    private static final class Filter {
+
+        private final List<String> conditions = new ArrayList<>();
+        private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+        void like(String column, String name, String value) {
+            if (StringUtils.hasLength(value)) {
+                condition(column + " like :" + name, name, "%" + value + "%");
+            }
+        }
+
+        void equal(String column, String name, Object value) {
+            if (value != null) {
+                condition(column + " = :" + name, name, value);
+            }
+        }
+
+        void condition(String condition, String name, Object value) {
+            conditions.add(condition);
+            bindings.put(name, value);
+        }
+
+        String where() {
+            return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        }
+
+        DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec) {
+            for (var binding : bindings.entrySet()) {
+                spec = spec.bind(binding.getKey(), binding.getValue());
+            }
+
+            return spec;
+        }
+    }
+}
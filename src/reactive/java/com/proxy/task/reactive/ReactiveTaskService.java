@@ -0,0 +1,48 @@
+package com.proxy.task.reactive;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
+import com.proxy.task.entity.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link com.proxy.task.service.TaskService} for the {@code reactive} profile.
+ */
+public interface ReactiveTaskService {
+
+    Flux<TaskDto> findAll();
+
+    Mono<Page<TaskDto>> findTaskPage(String title, String description, TaskStatus status, LocalDate dueDate, int page, int size, Sort sort);
+
+    Mono<Page<TaskDto>> findTaskPageIncludingArchived(String title, String description, TaskStatus status, LocalDate dueDate,
+                                                      int page, int size, Sort sort);
+
+    /**
+     * Same semantics as {@link com.proxy.task.service.TaskService#searchTaskPage}.
+     */
+    Mono<Page<TaskDto>> searchTaskPage(String query, String title, String description, TaskStatus status, LocalDate dueDate,
+                                       int page, int size, Sort sort);
+
+    Mono<TaskDto> findById(Long taskId);
+
+    /**
+     * Tasks with the given ids in request order, unknown ids are skipped.
+     */
+    Flux<TaskDto> findByIds(List<Long> taskIds);
+
+    Mono<Long> findVersion(Long taskId);
+
+    Mono<TaskDto> save(TaskDto taskDto);
+
+    Mono<TaskDto> update(Long taskId, TaskDto taskDto, Long expectedVersion);
+
+    Mono<Void> patch(Long taskId, TaskPatchDto taskPatchDto, Long expectedVersion);
+
+    Mono<Void> delete(Long taskId, Long expectedVersion);
+}
@@ -0,0 +1,189 @@
+package com.proxy.task.reactive;
+
+import com.proxy.task.config.TaskLoaderProperties;
+import com.proxy.task.config.TaskSearchProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
+import com.proxy.task.due.TaskDueService;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
+import com.proxy.task.exception.TaskNotFoundException;
+import com.proxy.task.exception.TaskVersionConflictException;
+import com.proxy.task.service.TaskStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Task operations of the {@code reactive} profile. Reads and writes go through R2DBC, each write is a
+ * single statement returning the changed row and appending its change outbox row. The outbox poller
+ * of the servlet instances publishes those changes to the change feed.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private static final String TASK_NOT_FOUND_EXCEPTION_MESSAGE = "Task with id %d not found";
+    private static final String TASK_VERSION_CONFLICT_EXCEPTION_MESSAGE = "Task with id %d is not at version %d";
+    private static final String SEARCH_FILTER_EXCEPTION_MESSAGE = "Title, description and sort cannot be combined with a search query";
+
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskSearchProperties searchProperties;
+    private final TaskLoaderProperties loaderProperties;
+    private final TaskStatisticsService statisticsService;
+    private final TaskDueService taskDueService;
+
+    @Override
+    public Flux<TaskDto> findAll() {
+        return taskRepository.findAll();
+    }
+
+    @Override
+    public Mono<Page<TaskDto>> findTaskPage(String title, String description, TaskStatus taskStatus, LocalDate dueDate, int page, int size, Sort sort) {
+        log.debug("Looking for tasks page. Page = {}, size = {}, sort = {}", page, size, sort);
+
+        return Mono.defer(() -> taskRepository.findPage(title, description, taskStatus, dueDate, PageRequest.of(page, size, sort)));
+    }
+
+    @Override
+    public Mono<Page<TaskDto>> findTaskPageIncludingArchived(String title, String description, TaskStatus taskStatus, LocalDate dueDate,
+                                                             int page, int size, Sort sort) {
+        log.debug("Looking for tasks page including archived tasks. Page = {}, size = {}, sort = {}", page, size, sort);
+
+        return Mono.defer(() -> taskRepository.findPageIncludingArchived(title, description, taskStatus, dueDate,
+                PageRequest.of(page, size, sort)));
+    }
+
+    @Override
+    public Mono<Page<TaskDto>> searchTaskPage(String query, String title, String description, TaskStatus taskStatus, LocalDate dueDate,
+                                              int page, int size, Sort sort) {
+        log.debug("Searching tasks page. Query = {}, page = {}, size = {}", query, page, size);
+
+        if (StringUtils.hasLength(title) || StringUtils.hasLength(description) || sort.isSorted()) {
+            return Mono.error(new InvalidTaskRequestException(SEARCH_FILTER_EXCEPTION_MESSAGE));
+        }
+
+        return Mono.defer(() -> {
+            var pageRequest = PageRequest.of(page, size);
+
+            return searchProperties.isFullTextEnabled()
+                    ? taskRepository.search(query, taskStatus, dueDate, pageRequest)
+                    : taskRepository.searchLike(query, taskStatus, dueDate, pageRequest);
+        });
+    }
+
+    @Override
+    public Mono<TaskDto> findById(Long taskId) {
+        return taskRepository.findById(taskId)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId))));
+    }
+
+    @Override
+    public Flux<TaskDto> findByIds(List<Long> taskIds) {
+        if (taskIds.size() > loaderProperties.getMaxIds()) {
+            return Flux.error(new InvalidTaskRequestException("At most %d task ids can be requested at once".formatted(loaderProperties.getMaxIds())));
+        }
+
+        if (taskIds.contains(null)) {
+            return Flux.error(new InvalidTaskRequestException("Task ids must not be empty"));
+        }
+
+        var distinctIds = taskIds.stream().distinct().toList();
+
+        return taskRepository.findByIds(distinctIds)
+                .collectMap(TaskDto::getId)
+                .flatMapIterable(tasks -> distinctIds.stream()
+                        .map(tasks::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    @Override
+    public Mono<Long> findVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId))));
+    }
+
+    @Override
+    public Mono<TaskDto> save(TaskDto taskDto) {
+        return taskRepository.insert(taskDto)
+                .doOnNext(savedTask -> {
+                    statisticsService.recordCreated(savedTask.getStatus(), savedTask.getDueDate());
+                    taskDueService.track(savedTask.getId(), savedTask.getStatus(), savedTask.getDueDate());
+
+                    log.debug("New task with id {} saved", savedTask.getId());
+                });
+    }
+
+    @Override
+    public Mono<TaskDto> update(Long taskId, TaskDto taskDto, Long expectedVersion) {
+        return taskRepository.update(taskId, expectedVersion, taskDto)
+                .switchIfEmpty(missingOrConflicting(taskId, expectedVersion))
+                .map(update -> {
+                    var updatedTask = update.task();
+                    statisticsService.recordUpdated(update.previousStatus(), update.previousDueDate(),
+                            updatedTask.getStatus(), updatedTask.getDueDate());
+                    taskDueService.track(taskId, updatedTask.getStatus(), updatedTask.getDueDate());
+
+                    log.debug("Task with {} updated", taskId);
+
+                    return updatedTask;
+                });
+    }
+
+    @Override
+    public Mono<Void> patch(Long taskId, TaskPatchDto taskPatchDto, Long expectedVersion) {
+        return taskRepository.patch(taskId, expectedVersion, taskPatchDto.getTitle(), taskPatchDto.getDescription(),
+                        taskPatchDto.getStatus(), taskPatchDto.getDueDate())
+                .switchIfEmpty(missingOrConflicting(taskId, expectedVersion))
+                .doOnNext(patch -> {
+                    var patchedTask = patch.task();
+                    statisticsService.recordUpdated(patch.previousStatus(), patch.previousDueDate(),
+                            patchedTask.getStatus(), patchedTask.getDueDate());
+                    taskDueService.track(taskId, patchedTask.getStatus(), patchedTask.getDueDate());
+
+                    log.debug("Task with id {} patched", taskId);
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> delete(Long taskId, Long expectedVersion) {
+        return taskRepository.delete(taskId, expectedVersion)
+                .switchIfEmpty(missingOrConflicting(taskId, expectedVersion))
+                .doOnNext(deletedTask -> {
+                    statisticsService.recordDeleted(deletedTask.getStatus(), deletedTask.getDueDate());
+                    taskDueService.untrack(taskId);
+
+                    log.debug("Task with id {} deleted", taskId);
+                })
+                .then();
+    }
+
+    private <T> Mono<T> missingOrConflicting(Long taskId, Long expectedVersion) {
+        return Mono.defer(() -> {
+            if (expectedVersion == null) {
+                return Mono.<T>error(new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId)));
+            }
+
+            return taskRepository.findVersionById(taskId)
+                    .hasElement()
+                    .flatMap(exists -> Mono.<T>error(exists
+                            ? new TaskVersionConflictException(TASK_VERSION_CONFLICT_EXCEPTION_MESSAGE.formatted(taskId, expectedVersion))
+                            : new TaskNotFoundException(TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(taskId))));
+        });
+    }
+}
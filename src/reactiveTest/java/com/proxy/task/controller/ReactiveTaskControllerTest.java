@@ -0,0 +1,175 @@
+package com.proxy.task.controller;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.TaskNotFoundException;
+import com.proxy.task.exception.TaskVersionConflictException;
+import com.proxy.task.reactive.ReactiveTaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.proxy.task.util.TestUtil.TASK_ID;
+import static com.proxy.task.util.TestUtil.buildEmptyTaskDto;
+import static com.proxy.task.util.TestUtil.buildTaskDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveTaskController.class)
+@ActiveProfiles("reactive")
+public class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveTaskService taskService;
+
+    @Test
+    public void givenTasksExistWhenStreamAllTasksThenReturnNdjsonLines() {
+        var taskDto = buildTaskDto();
+
+        when(taskService.findAll()).thenReturn(Flux.just(taskDto, taskDto));
+
+        var tasks = webTestClient.get().uri("/api/v1/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(tasks).containsExactly(taskDto, taskDto);
+    }
+
+    @Test
+    public void givenIdsWhenFindTasksThenReturnTasksByIds() {
+        var taskDto = buildTaskDto();
+
+        when(taskService.findByIds(List.of(1L, 2L))).thenReturn(Flux.just(taskDto));
+
+        webTestClient.get().uri("/api/v1/tasks?ids=1,2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class).hasSize(1).contains(taskDto);
+
+        verify(taskService, never()).findAll();
+    }
+
+    @Test
+    public void givenFiltersAndSortWhenFindTaskPageThenPassedToService() {
+        var sort = Sort.by("dueDate");
+        var page = new PageImpl<>(List.of(buildTaskDto()), PageRequest.of(0, 10, sort), 1);
+
+        when(taskService.findTaskPage(null, null, TaskStatus.TODO, null, 0, 10, sort)).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri("/api/v1/tasks/page?status=TODO&sort=dueDate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().jsonPath("$.content[0].id").isEqualTo(TASK_ID);
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatchWhenFindTaskPageThenNotModified() {
+        var page = new PageImpl<>(List.of(buildTaskDto()), PageRequest.of(0, 10), 1);
+
+        when(taskService.findTaskPage(null, null, null, null, 0, 10, Sort.unsorted())).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri("/api/v1/tasks/page")
+                .header(HttpHeaders.IF_NONE_MATCH, TaskETags.of(page))
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void givenIncludeArchivedWhenFindTaskPageThenArchivedTasksIncluded() {
+        var page = new PageImpl<>(List.of(buildTaskDto()), PageRequest.of(0, 10), 1);
+
+        when(taskService.findTaskPageIncludingArchived(null, null, null, null, 0, 10, Sort.unsorted())).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri("/api/v1/tasks/page?includeArchived=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.content[0].id").isEqualTo(TASK_ID);
+
+        verify(taskService, never()).findTaskPage(any(), any(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void givenTaskExistsWhenFindByIdThenReturnTaskWithETag() {
+        var taskDto = buildTaskDto();
+        taskDto.setVersion(3L);
+
+        when(taskService.findById(TASK_ID)).thenReturn(Mono.just(taskDto));
+
+        webTestClient.get().uri("/api/v1/tasks/{taskId}", TASK_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, TaskETags.of(taskDto.getVersion()))
+                .expectBody(TaskDto.class).isEqualTo(taskDto);
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatchWhenFindByIdThenNotModifiedWithoutLoading() {
+        var taskDto = buildTaskDto();
+        taskDto.setVersion(3L);
+
+        when(taskService.findVersion(TASK_ID)).thenReturn(Mono.just(taskDto.getVersion()));
+
+        webTestClient.get().uri("/api/v1/tasks/{taskId}", TASK_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, TaskETags.of(taskDto.getVersion()))
+                .exchange()
+                .expectStatus().isNotModified();
+
+        verify(taskService, never()).findById(any());
+    }
+
+    @Test
+    public void givenTaskNotExistsWhenFindByIdThenNotFound() {
+        when(taskService.findById(TASK_ID)).thenReturn(Mono.error(new TaskNotFoundException("Task with id %d not found".formatted(TASK_ID))));
+
+        webTestClient.get().uri("/api/v1/tasks/{taskId}", TASK_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void givenInvalidTaskWhenSaveThenBadRequest() {
+        webTestClient.post().uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildEmptyTaskDto())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(taskService, never()).save(any());
+    }
+
+    @Test
+    public void givenStaleIfMatchWhenDeleteThenPreconditionFailed() {
+        when(taskService.delete(TASK_ID, 1L)).thenReturn(Mono.error(new TaskVersionConflictException("Task with id %d is not at version 1".formatted(TASK_ID))));
+
+        webTestClient.delete().uri("/api/v1/tasks/{taskId}", TASK_ID)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+}
@@ -0,0 +1,64 @@
+package com.proxy.task.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long TARGET = 100;
+
+    @Test
+    public void givenLimitReachedWhenTryAcquireThenRejected() {
+        var limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET, 0.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release();
+
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void givenFastResponsesAtLimitWhenReleasedThenLimitGrows() {
+        var limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET, 0.5);
+
+        for (var i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(TARGET / 2, i);
+            limit.release(TARGET / 2, i);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(2).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    public void givenBurstOfSlowResponsesWhenReleasedThenDecreaseOncePerTargetLatency() {
+        var limit = new AdaptiveConcurrencyLimit(8, 1, 10, TARGET, 0.5);
+
+        for (var i = 0; i < 4; i++) {
+            limit.tryAcquire();
+            limit.release(TARGET * 2, 1_000 + i);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.release(TARGET * 2, 1_000 + TARGET);
+
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSlowResponsesWhenReleasedThenLimitStaysAboveMinimum() {
+        var limit = new AdaptiveConcurrencyLimit(4, 2, 10, TARGET, 0.1);
+
+        limit.tryAcquire();
+        limit.release(TARGET * 2, 0);
+
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,114 @@
+package com.proxy.task.archive;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.config.TaskArchiveProperties;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.repository.TaskRepository;
+import com.proxy.task.service.TaskPageCache;
+import com.proxy.task.service.TaskStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskArchiveServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 1);
+    private static final LocalDate CUTOFF = TODAY.minusDays(90);
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TaskStatisticsService statisticsService;
+    @Mock
+    private TaskChangeService taskChangeService;
+    @Mock
+    private TaskPageCache taskPageCache;
+
+    private final TaskArchiveProperties archiveProperties = new TaskArchiveProperties();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS_CACHE);
+    private final Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private TaskArchiveServiceImpl taskArchiveService;
+
+    @BeforeEach
+    public void setUp() {
+        archiveProperties.setEnabled(true);
+        archiveProperties.setBatchSize(2);
+
+        taskArchiveService = new TaskArchiveServiceImpl(taskRepository, archiveProperties, new TransactionTemplate(transactionManager),
+                statisticsService, taskChangeService, taskPageCache, cacheManager, clock);
+    }
+
+    @Test
+    public void givenMoreTasksThanBatchSizeWhenArchiveCompletedThenArchivedInSeveralTransactions() {
+        when(taskRepository.lockCompletedDueBefore(CUTOFF, 2)).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(taskRepository.lockStatusAndDueDates(List.of(1L, 2L))).thenReturn(List.of(
+                new TaskStatusDueDate(1L, TaskStatus.COMPLETED, CUTOFF.minusDays(2)),
+                new TaskStatusDueDate(2L, TaskStatus.COMPLETED, CUTOFF.minusDays(1))));
+        when(taskRepository.lockStatusAndDueDates(List.of(3L))).thenReturn(List.of(
+                new TaskStatusDueDate(3L, TaskStatus.COMPLETED, CUTOFF.minusDays(1))));
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).put(3L, "cached");
+
+        var archived = taskArchiveService.archiveCompleted();
+
+        assertThat(archived).isEqualTo(3);
+        verify(taskRepository).copyToArchive(List.of(1L, 2L), clock.instant());
+        verify(taskRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(taskRepository).copyToArchive(List.of(3L), clock.instant());
+        verify(taskRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+        verify(statisticsService).recordDeleted(TaskStatus.COMPLETED, CUTOFF.minusDays(2));
+        verify(statisticsService, times(2)).recordDeleted(TaskStatus.COMPLETED, CUTOFF.minusDays(1));
+        verify(taskChangeService).record(1L, TaskChangeType.DELETED);
+        verify(taskChangeService).record(3L, TaskChangeType.DELETED);
+        verify(taskPageCache).invalidate();
+        assertThat(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(3L)).isNull();
+    }
+
+    @Test
+    public void givenNothingToArchiveWhenArchiveCompletedThenCachesKept() {
+        when(taskRepository.lockCompletedDueBefore(CUTOFF, 2)).thenReturn(List.of());
+
+        var archived = taskArchiveService.archiveCompleted();
+
+        assertThat(archived).isZero();
+        verify(taskRepository, never()).copyToArchive(anyCollection(), any());
+        verify(statisticsService, never()).recordDeleted(any(), any());
+        verify(taskPageCache, never()).invalidate();
+    }
+
+    @Test
+    public void givenArchiveDisabledWhenArchiveCompletedThenNothingQueried() {
+        archiveProperties.setEnabled(false);
+
+        var archived = taskArchiveService.archiveCompleted();
+
+        assertThat(archived).isZero();
+        verify(taskRepository, never()).lockCompletedDueBefore(any(), anyInt());
+    }
+}
@@ -0,0 +1,106 @@
+package com.proxy.task.changes;
+
+import com.proxy.task.config.TaskChangeProperties;
+import com.proxy.task.dto.TaskChangeDto;
+import com.proxy.task.entity.TaskChange;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.repository.TaskChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.proxy.task.util.TestUtil.TASK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskChangeServiceTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskChangeServiceImpl taskChangeService;
+
+    @BeforeEach
+    public void setUp() {
+        taskChangeService = new TaskChangeServiceImpl(taskChangeRepository, new TaskChangeProperties(),
+                new TransactionTemplate(transactionManager), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskChangeService.destroy();
+    }
+
+    @Test
+    public void givenTaskChangeWhenRecordThenWriteOutboxRow() {
+        when(taskChangeRepository.save(any(TaskChange.class))).thenAnswer(invocation -> {
+            TaskChange change = invocation.getArgument(0);
+            change.setId(7L);
+            return change;
+        });
+
+        taskChangeService.record(TASK_ID, TaskChangeType.UPDATED);
+
+        verify(taskChangeRepository).save(TaskChange.builder()
+                .id(7L)
+                .taskId(TASK_ID)
+                .type(TaskChangeType.UPDATED)
+                .occurredAt(NOW)
+                .build());
+    }
+
+    @Test
+    public void givenUnpublishedChangesWhenPublishThenPositionsFollowLastPositionUnderPublisherLock() {
+        var later = TaskChange.builder().id(120L).taskId(TASK_ID).type(TaskChangeType.UPDATED).occurredAt(NOW).build();
+        var earlier = TaskChange.builder().id(70L).taskId(TASK_ID).type(TaskChangeType.DELETED).occurredAt(NOW).build();
+
+        when(taskChangeRepository.findLastPosition()).thenReturn(5L);
+        when(taskChangeRepository.findUnpublished(Limit.of(500))).thenReturn(List.of(later, earlier));
+
+        taskChangeService.publishChanges();
+
+        assertThat(later.getPosition()).isEqualTo(6L);
+        assertThat(earlier.getPosition()).isEqualTo(7L);
+        verify(taskChangeRepository).lockPublisher();
+        verify(taskChangeRepository).findDtosAfter(5L, Limit.of(500));
+    }
+
+    @Test
+    public void givenLastEventIdWhenSubscribeThenReplayFromOutbox() {
+        var change = new TaskChangeDto(6L, TASK_ID, TaskChangeType.CREATED, NOW);
+
+        when(taskChangeRepository.findDtosAfter(5L, Limit.of(1001))).thenReturn(List.of(change));
+
+        var emitter = taskChangeService.subscribe(5L);
+
+        assertThat(emitter).isNotNull();
+        verify(taskChangeRepository, timeout(1000)).findDtosAfter(5L, Limit.of(1001));
+    }
+
+    @Test
+    public void givenExpiredChangesWhenCleanUpThenDeleteOlderThanRetention() {
+        taskChangeService.deleteExpiredChanges();
+
+        verify(taskChangeRepository).deleteOlderThan(NOW.minus(new TaskChangeProperties().getRetention()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.proxy.task.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxy.task.dto.TaskBatchItemResult;
+import com.proxy.task.dto.TaskBatchItemStatus;
+import com.proxy.task.dto.TaskBatchResult;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.service.TaskBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.proxy.task.util.TestUtil.TASK_ID;
+import static com.proxy.task.util.TestUtil.buildTaskDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskBatchController.class)
+@AutoConfigureMockMvc
+public class TaskBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private TaskBatchService taskBatchService;
+
+    @Test
+    public void givenTasksWhenSaveAllThenReturnBatchResult() throws Exception {
+
+        var taskDto = buildTaskDto();
+        var result = batchResult(TaskBatchItemStatus.CREATED, taskDto);
+        when(taskBatchService.saveAll(List.of(taskDto))).thenReturn(result);
+
+        var response = mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDto))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(objectMapper.readValue(response, TaskBatchResult.class)).isEqualTo(result);
+    }
+
+    @Test
+    public void givenTasksWhenUpdateAllThenReturnBatchResult() throws Exception {
+
+        var taskDto = buildTaskDto();
+        var result = batchResult(TaskBatchItemStatus.UPDATED, taskDto);
+        when(taskBatchService.updateAll(List.of(taskDto))).thenReturn(result);
+
+        var response = mockMvc.perform(put("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDto))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(objectMapper.readValue(response, TaskBatchResult.class)).isEqualTo(result);
+    }
+
+    @Test
+    public void givenTaskIdsWhenDeleteAllThenReturnBatchResult() throws Exception {
+
+        var result = batchResult(TaskBatchItemStatus.DELETED, null);
+        when(taskBatchService.deleteAll(List.of(TASK_ID))).thenReturn(result);
+
+        var response = mockMvc.perform(delete("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(TASK_ID))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(objectMapper.readValue(response, TaskBatchResult.class)).isEqualTo(result);
+        verify(taskBatchService).deleteAll(List.of(TASK_ID));
+    }
+
+    @Test
+    public void givenValidAndInvalidTasksWhenSaveAllThenReturnResultPerItem() throws Exception {
+
+        var taskDto = buildTaskDto();
+        var invalidTaskDto = buildTaskDto();
+        invalidTaskDto.setTitle(null);
+        var taskDtos = Arrays.asList(taskDto, invalidTaskDto, null);
+
+        var result = TaskBatchResult.builder()
+                .succeeded(1)
+                .failed(2)
+                .items(List.of(
+                        TaskBatchItemResult.builder().index(0).id(TASK_ID).status(TaskBatchItemStatus.CREATED).task(taskDto).build(),
+                        TaskBatchItemResult.builder().index(1).id(TASK_ID).status(TaskBatchItemStatus.INVALID)
+                                .errors(Map.of("title", "Task title cannot be empty")).build(),
+                        TaskBatchItemResult.builder().index(2).status(TaskBatchItemStatus.INVALID)
+                                .errors(Map.of("task", "Task cannot be empty")).build()))
+                .build();
+        when(taskBatchService.saveAll(taskDtos)).thenReturn(result);
+
+        var response = mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDtos)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(objectMapper.readValue(response, TaskBatchResult.class)).isEqualTo(result);
+    }
+
+    @Test
+    public void givenNullTaskIdWhenDeleteAllThenPassedToService() throws Exception {
+
+        var taskIds = Arrays.asList(TASK_ID, null);
+        var result = batchResult(TaskBatchItemStatus.DELETED, null);
+        when(taskBatchService.deleteAll(taskIds)).thenReturn(result);
+
+        mockMvc.perform(delete("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskIds)))
+                .andExpect(status().isOk());
+
+        verify(taskBatchService).deleteAll(taskIds);
+    }
+
+    private static TaskBatchResult batchResult(TaskBatchItemStatus status, TaskDto taskDto) {
+        return TaskBatchResult.builder()
+                .succeeded(1)
+                .failed(0)
+                .items(List.of(TaskBatchItemResult.builder().index(0).id(TASK_ID).status(status).task(taskDto).build()))
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.proxy.task.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the task endpoints against a migrated PostgreSQL schema, so the versions in the entity tags are
+ * the ones written by the database rather than stubbed ones.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+public class TaskControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void givenETagOfUpdateWhenUpdateAgainThenAccepted() throws Exception {
+        var taskDto = TaskDto.builder()
+                .title("Write report")
+                .description("Quarterly report")
+                .status(TaskStatus.TODO)
+                .dueDate(LocalDate.now().plusDays(7))
+                .build();
+
+        var created = mockMvc.perform(post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse();
+        var taskId = objectMapper.readValue(created.getContentAsString(), TaskDto.class).getId();
+
+        taskDto.setStatus(TaskStatus.IN_PROGRESS);
+        var firstUpdate = mockMvc.perform(put("/api/v1/tasks/{taskId}", taskId)
+                        .header(HttpHeaders.IF_MATCH, created.getHeader(HttpHeaders.ETAG))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(firstUpdate.getHeader(HttpHeaders.ETAG)).isNotEqualTo(created.getHeader(HttpHeaders.ETAG));
+
+        taskDto.setStatus(TaskStatus.COMPLETED);
+        var secondUpdate = mockMvc.perform(put("/api/v1/tasks/{taskId}", taskId)
+                        .header(HttpHeaders.IF_MATCH, firstUpdate.getHeader(HttpHeaders.ETAG))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        var found = mockMvc.perform(get("/api/v1/tasks/{taskId}", taskId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(found.getHeader(HttpHeaders.ETAG)).isEqualTo(secondUpdate.getHeader(HttpHeaders.ETAG));
+        assertThat(objectMapper.readValue(found.getContentAsString(), TaskDto.class).getVersion())
+                .isEqualTo(objectMapper.readValue(secondUpdate.getContentAsString(), TaskDto.class).getVersion());
+    }
+}
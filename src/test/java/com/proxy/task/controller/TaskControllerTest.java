@@ -1,8 +1,14 @@
 package com.proxy.task.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.proxy.task.dto.TaskCursorPage;
 import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
 import com.proxy.task.exception.TaskNotFoundException;
+import com.proxy.task.exception.TaskVersionConflictException;
 import com.proxy.task.service.TaskService;
 import com.proxy.task.util.TestUtil;
 import org.junit.jupiter.api.Test;
@@ -13,27 +19,38 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.util.MultiValueMap;
 
-import javax.print.attribute.standard.Media;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.proxy.task.util.TestUtil.TASK_ID;
 import static com.proxy.task.util.TestUtil.buildTaskDto;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
@@ -85,6 +102,79 @@ public class TaskControllerTest {
         verify(taskService).findAll();
     }
 
+    @Test
+    public void givenIdsWhenFindTasksThenReturnTasksByIds() throws Exception {
+
+        var tasks = List.of(buildTaskDto());
+
+        when(taskService.findByIds(List.of(1L, 2L, 3L))).thenReturn(tasks);
+
+        var response = mockMvc.perform(get("/api/v1/tasks")
+                        .param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response).isEqualTo(objectMapper.writeValueAsString(tasks));
+
+        verify(taskService).findByIds(List.of(1L, 2L, 3L));
+        verify(taskService, never()).findAll();
+    }
+
+    @Test
+    public void givenTaskExistWhenStreamAllTasksThenReturnNdjsonLines() throws Exception {
+
+        var taskDto = buildTaskDto();
+
+        doAnswer(invocation -> {
+            Consumer<TaskDto> consumer = invocation.getArgument(0);
+            consumer.accept(taskDto);
+            consumer.accept(taskDto);
+            return null;
+        }).when(taskService).streamAll(any());
+
+        var mvcResult = mockMvc.perform(get("/api/v1/tasks")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var line = objectMapper.writeValueAsString(taskDto);
+
+        assertThat(response).isEqualTo(line + "\n" + line + "\n");
+
+        verify(taskService).streamAll(any());
+    }
+
+    @Test
+    public void givenSmileAcceptWhenFindAllTasksThenReturnSmileEncodedList() throws Exception {
+
+        var tasks = List.of(buildTaskDto());
+        var smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        var smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        when(taskService.findAll()).thenReturn(tasks);
+
+        var response = mockMvc.perform(get("/api/v1/tasks")
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertThat(smileMapper.readValue(response, TaskDto[].class)).containsExactly(tasks.get(0));
+
+        verify(taskService).findAll();
+    }
+
     @Test
     public void givenNoTasksWhenFindTaskPageThenReturnEmptyPage() throws Exception {
 
@@ -140,6 +230,140 @@ public class TaskControllerTest {
         verify(taskService).findTaskPage(null, null, null, null, 0, 10, Sort.unsorted());
     }
 
+    @Test
+    public void givenCachedPageChangedElsewhereWhenFindTaskPageThenTagFollowsContent() throws Exception {
+        var page = new PageImpl<TaskDto>(List.of(buildTaskDto()));
+        var eTag = TaskETags.of(page);
+        var changedTask = buildTaskDto();
+        changedTask.setVersion(changedTask.getVersion() == null ? 1L : changedTask.getVersion() + 1);
+
+        when(taskService.findTaskPage(null, null, null, null, 0, 10, Sort.unsorted()))
+                .thenReturn(page)
+                .thenReturn(new PageImpl<>(List.of(changedTask)));
+
+        mockMvc.perform(get("/api/v1/tasks/page")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/v1/tasks/page")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, TaskETags.of(new PageImpl<>(List.of(changedTask)))));
+    }
+
+    @Test
+    public void givenNoCacheHeaderWhenFindTaskPageThenRefreshTaskPage() throws Exception {
+        var page = new PageImpl<>(List.of(buildTaskDto()));
+
+        when(taskService.refreshTaskPage(null, null, null, null, 0, 10, Sort.unsorted()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tasks/page")
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(status().isOk());
+
+        verify(taskService).refreshTaskPage(null, null, null, null, 0, 10, Sort.unsorted());
+        verify(taskService, never()).findTaskPage(any(), any(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void givenIncludeArchivedWhenFindTaskPageThenReturnPageIncludingArchived() throws Exception {
+        var page = new PageImpl<>(List.of(buildTaskDto()));
+
+        when(taskService.findTaskPageIncludingArchived(null, null, TaskStatus.COMPLETED, null, 0, 10, Sort.unsorted()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tasks/page")
+                        .param("status", "COMPLETED")
+                        .param("includeArchived", "true"))
+                .andExpect(status().isOk());
+
+        verify(taskService).findTaskPageIncludingArchived(null, null, TaskStatus.COMPLETED, null, 0, 10, Sort.unsorted());
+        verify(taskService, never()).findTaskPage(any(), any(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void givenQueryWhenFindTaskPageThenReturnSearchPage() throws Exception {
+        var page = new PageImpl<>(List.of(buildTaskDto()));
+
+        when(taskService.searchTaskPage("report", null, null, null, null, 0, 10, Sort.unsorted())).thenReturn(page);
+
+        var response = mockMvc.perform(get("/api/v1/tasks/page")
+                        .param("q", "report"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response).isEqualTo(objectMapper.writeValueAsString(page));
+
+        verify(taskService).searchTaskPage("report", null, null, null, null, 0, 10, Sort.unsorted());
+    }
+
+    @Test
+    public void givenTaskExistsWhenFindTaskCursorPageThenReturnCursorPage() throws Exception {
+        var cursorPage = TaskCursorPage.builder()
+                .content(List.of(buildTaskDto()))
+                .size(1)
+                .nextCursor("next")
+                .build();
+
+        when(taskService.findTaskCursorPage(null, null, null, null, "cursor", 1, Sort.unsorted()))
+                .thenReturn(cursorPage);
+
+        var response = mockMvc.perform(get("/api/v1/tasks/cursor")
+                        .param("cursor", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(response).isEqualTo(objectMapper.writeValueAsString(cursorPage));
+
+        verify(taskService).findTaskCursorPage(null, null, null, null, "cursor", 1, Sort.unsorted());
+    }
+
+    @Test
+    public void givenInvalidCursorWhenFindTaskCursorPageThenBadRequestResponse() throws Exception {
+
+        when(taskService.findTaskCursorPage(null, null, null, null, "broken", 10, Sort.unsorted()))
+                .thenThrow(new InvalidTaskRequestException("Invalid cursor broken"));
+
+        mockMvc.perform(get("/api/v1/tasks/cursor")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService).findTaskCursorPage(null, null, null, null, "broken", 10, Sort.unsorted());
+    }
+
+    @Test
+    public void givenTaskExistWhenFindTaskByIdThenReturnVersionETag() throws Exception {
+        var task = buildTaskDto();
+        task.setVersion(3L);
+
+        when(taskService.findById(TASK_ID)).thenReturn(task);
+
+        mockMvc.perform(get("/api/v1/tasks/{taskId}", TASK_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(taskService).findById(TASK_ID);
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatchWhenFindTaskByIdThenNotModifiedWithoutLoadingTask() throws Exception {
+
+        when(taskService.findVersion(TASK_ID)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/v1/tasks/{taskId}", TASK_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(taskService).findVersion(TASK_ID);
+        verify(taskService, never()).findById(TASK_ID);
+    }
+
     @Test
     public void givenNoTaskWhenFindTaskByIdThenNotFoundResponse() throws Exception {
 
@@ -196,7 +420,7 @@ public class TaskControllerTest {
     public void whenUpdateTaskThenReturnUpdatedTask() throws Exception {
         var taskDto = buildTaskDto();
 
-        when(taskService.update(TASK_ID, taskDto)).thenReturn(taskDto);
+        when(taskService.update(TASK_ID, taskDto, null)).thenReturn(taskDto);
 
         var response = mockMvc.perform(put("/api/v1/tasks/{taskId}", TASK_ID)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -208,21 +432,36 @@ public class TaskControllerTest {
 
         assertThat(response).isEqualTo(objectMapper.writeValueAsString(taskDto));
 
-        verify(taskService).update(TASK_ID, taskDto);
+        verify(taskService).update(TASK_ID, taskDto, null);
     }
 
     @Test
     public void givenNoTaskWhenUpdateTaskThenNotFoundResponse() throws Exception {
         var taskDto = buildTaskDto();
 
-        when(taskService.update(TASK_ID, taskDto)).thenThrow(TaskNotFoundException.class);
+        when(taskService.update(TASK_ID, taskDto, null)).thenThrow(TaskNotFoundException.class);
 
         mockMvc.perform(put("/api/v1/tasks/{taskId}", TASK_ID)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(taskDto)))
                 .andExpect(status().isNotFound());
 
-        verify(taskService).update(TASK_ID, taskDto);
+        verify(taskService).update(TASK_ID, taskDto, null);
+    }
+
+    @Test
+    public void givenStaleIfMatchWhenUpdateTaskThenPreconditionFailedResponse() throws Exception {
+        var taskDto = buildTaskDto();
+
+        when(taskService.update(TASK_ID, taskDto, 2L)).thenThrow(TaskVersionConflictException.class);
+
+        mockMvc.perform(put("/api/v1/tasks/{taskId}", TASK_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskService).update(TASK_ID, taskDto, 2L);
     }
 
     @Test
@@ -231,6 +470,51 @@ public class TaskControllerTest {
         mockMvc.perform(delete("/api/v1/tasks/{taskId}", TASK_ID))
                 .andExpect(status().isNoContent());
 
-        verify(taskService).delete(TASK_ID);
+        verify(taskService).delete(TASK_ID, null);
+    }
+
+    @Test
+    public void givenNoTaskWhenDeleteTaskThenNotFoundResponse() throws Exception {
+
+        doThrow(TaskNotFoundException.class).when(taskService).delete(TASK_ID, null);
+
+        mockMvc.perform(delete("/api/v1/tasks/{taskId}", TASK_ID))
+                .andExpect(status().isNotFound());
+
+        verify(taskService).delete(TASK_ID, null);
+    }
+
+    @Test
+    public void givenIfMatchWhenDeleteTaskThenPassExpectedVersion() throws Exception {
+
+        mockMvc.perform(delete("/api/v1/tasks/{taskId}", TASK_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).delete(TASK_ID, 3L);
+    }
+
+    @Test
+    public void whenPatchTaskThenReturnNoContent() throws Exception {
+        var taskPatchDto = TaskPatchDto.builder().status(TaskStatus.COMPLETED).build();
+
+        mockMvc.perform(patch("/api/v1/tasks/{taskId}", TASK_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskPatchDto)))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).patch(TASK_ID, taskPatchDto, null);
+    }
+
+    @Test
+    public void givenTooLongTitleWhenPatchTaskThenBadRequestResponse() throws Exception {
+        var taskPatchDto = TaskPatchDto.builder().title("t".repeat(256)).build();
+
+        mockMvc.perform(patch("/api/v1/tasks/{taskId}", TASK_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskPatchDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).patch(any(), any(), any());
     }
 }
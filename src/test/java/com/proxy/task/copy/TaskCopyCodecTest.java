@@ -0,0 +1,132 @@
+package com.proxy.task.copy;
+
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TaskCopyCodecTest {
+
+    private static final LocalDate DUE_DATE = LocalDate.of(2030, 5, 17);
+
+    @Test
+    public void givenExportedCsvWhenReadThenParseQuotedFieldsAndNulls() throws Exception {
+        var csv = """
+                id,title,description,status,due_date,version
+                1,"Title, with comma","Line one
+                line ""two\""",TODO,2030-05-17,0
+                2,Title,,DONE,not-a-date,0
+                """;
+
+        var reader = new TaskCsvReader(new BufferedReader(new StringReader(csv)));
+
+        var first = reader.next();
+        var second = reader.next();
+
+        assertThat(first.title()).isEqualTo("Title, with comma");
+        assertThat(first.description()).isEqualTo("Line one\nline \"two\"");
+        assertThat(first.dueDate()).isEqualTo(DUE_DATE);
+        assertThat(first.errors()).isEmpty();
+        assertThat(second.description()).isNull();
+        assertThat(second.status()).isEqualTo("DONE");
+        assertThat(second.errors()).containsKey("dueDate");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    public void givenCsvWithoutRequiredColumnsWhenReadThenThrowException() {
+        assertThatThrownBy(() -> new TaskCsvReader(new BufferedReader(new StringReader("title,status\n"))))
+                .isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    @Test
+    public void givenTaskWhenWriteCsvThenQuoteTextFields() throws Exception {
+        var output = new StringWriter();
+        var writer = new TaskCsvWriter(output);
+
+        writer.write(taskDto("Say \"hi\""));
+        writer.finish();
+
+        assertThat(output.toString()).isEqualTo("\"Say \"\"hi\"\"\",\"description\",TODO,2030-05-17\n");
+    }
+
+    @Test
+    public void givenExportedBinaryWhenReadThenDecodeFields() throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+
+        PgBinaryCopy.writeHeader(output);
+        output.writeShort(6);
+        writeLong(output, 42L);
+        writeText(output, "title");
+        writeText(output, "description");
+        writeText(output, "IN_PROGRESS");
+        output.writeInt(4);
+        output.writeInt(PgBinaryCopy.fromDate(DUE_DATE));
+        writeLong(output, 3L);
+        output.writeShort(PgBinaryCopy.TRAILER);
+
+        var reader = new TaskBinaryReader(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        var row = reader.next();
+
+        assertThat(row.title()).isEqualTo("title");
+        assertThat(row.status()).isEqualTo("IN_PROGRESS");
+        assertThat(row.dueDate()).isEqualTo(DUE_DATE);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    public void givenNegativeFieldLengthWhenReadBinaryThenThrowException() throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+
+        PgBinaryCopy.writeHeader(output);
+        output.writeShort(6);
+        writeLong(output, 42L);
+        output.writeInt(-2);
+
+        var reader = new TaskBinaryReader(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    @Test
+    public void givenNonCopyInputWhenReadBinaryThenThrowException() {
+        var input = new DataInputStream(new ByteArrayInputStream("id,title\n1,task\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertThatThrownBy(() -> new TaskBinaryReader(input)).isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    private static TaskDto taskDto(String title) {
+        return TaskDto.builder()
+                .title(title)
+                .description("description")
+                .status(TaskStatus.TODO)
+                .dueDate(DUE_DATE)
+                .build();
+    }
+
+    private static void writeLong(DataOutputStream output, long value) throws Exception {
+        output.writeInt(8);
+        output.writeLong(value);
+    }
+
+    private static void writeText(DataOutputStream output, String value) throws Exception {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
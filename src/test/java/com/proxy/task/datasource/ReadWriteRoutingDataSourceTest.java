@@ -0,0 +1,131 @@
+package com.proxy.task.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @Test
+    public void givenReadOnlyTransactionsWhenQueryThenReplicasInTurn() {
+        setUp(Duration.ZERO, Duration.ZERO, "replica-a", "replica-b");
+
+        assertThat(nodeName(true)).isEqualTo("replica-a");
+        assertThat(nodeName(true)).isEqualTo("replica-b");
+        assertThat(nodeName(true)).isEqualTo("replica-a");
+        assertThat(dataSource.getRoutedConnections("replica-a")).isEqualTo(2);
+    }
+
+    @Test
+    public void givenReadWriteTransactionOrNoTransactionWhenQueryThenPrimary() {
+        setUp(Duration.ZERO, Duration.ZERO, "replica-a");
+
+        assertThat(nodeName(false)).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select name from node", String.class))
+                .isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void givenNoReplicasWhenReadOnlyTransactionThenPrimary() {
+        setUp(Duration.ZERO, Duration.ZERO);
+
+        assertThat(nodeName(true)).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void givenReadOnlyTransactionOnAnotherThreadWhenQueryThenReplica() throws Exception {
+        setUp(Duration.ZERO, Duration.ZERO, "replica-a");
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThat(executor.submit(() -> nodeName(true)).get()).isEqualTo("replica-a");
+        }
+    }
+
+    @Test
+    public void givenReplicationLagUnknownWhenReadOnlyTransactionThenPrimary() {
+        setUp(Duration.ofSeconds(1), Duration.ZERO, "replica-a");
+
+        dataSource.checkReplicationLag();
+
+        assertThat(dataSource.getAvailableReplicas()).isEmpty();
+        assertThat(nodeName(true)).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void givenNoMaximumLagWhenCheckReplicationLagThenReplicasStayAvailable() {
+        setUp(Duration.ZERO, Duration.ZERO, "replica-a");
+
+        dataSource.checkReplicationLag();
+
+        assertThat(nodeName(true)).isEqualTo("replica-a");
+    }
+
+    @Test
+    public void givenWriteCommittedOnAnotherThreadWhenReadOnlyTransactionWithinWindowThenPrimary() throws Exception {
+        setUp(Duration.ZERO, Duration.ofMinutes(1), "replica-a");
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> nodeName(false)).get();
+        }
+
+        assertThat(nodeName(true)).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void givenReadOnlyTransactionCommittedWhenReadOnlyTransactionThenReplica() {
+        setUp(Duration.ZERO, Duration.ofMinutes(1), "replica-a");
+
+        assertThat(nodeName(true)).isEqualTo("replica-a");
+        assertThat(nodeName(true)).isEqualTo("replica-a");
+    }
+
+    @Test
+    public void givenWriteWindowElapsedWhenReadOnlyTransactionThenReplica() {
+        setUp(Duration.ZERO, Duration.ofNanos(1), "replica-a");
+
+        nodeName(false);
+
+        assertThat(nodeName(true)).isEqualTo("replica-a");
+    }
+
+    private void setUp(Duration maxReplicationLag, Duration readYourWritesWindow, String... replicaNames) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (var replicaName : replicaNames) {
+            replicas.put(replicaName, database(replicaName));
+        }
+
+        dataSource = new ReadWriteRoutingDataSource(database(ReadWriteRoutingDataSource.PRIMARY), replicas,
+                ReplicaSelection.ROUND_ROBIN, maxReplicationLag, readYourWritesWindow);
+        dataSource.afterPropertiesSet();
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(dataSource);
+    }
+
+    private String nodeName(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        var database = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table node (name varchar(32))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,91 @@
+package com.proxy.task.due;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.TaskDueProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.repository.TaskRepository;
+import com.proxy.task.service.TaskPageCache;
+import com.proxy.task.service.TaskStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OverdueTransitionHandlerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskStatisticsService statisticsService;
+    @Mock
+    private TaskChangeService taskChangeService;
+    @Mock
+    private TaskPageCache taskPageCache;
+    @Mock
+    private CacheManager cacheManager;
+
+    private final TaskDueProperties dueProperties = new TaskDueProperties();
+
+    private OverdueTransitionHandler overdueTransitionHandler;
+
+    @BeforeEach
+    public void setUp() {
+        dueProperties.getTransitions().put(TaskStatus.TODO, TaskStatus.ON_HOLD);
+
+        overdueTransitionHandler = new OverdueTransitionHandler(taskRepository, dueProperties, statisticsService,
+                taskChangeService, taskPageCache, cacheManager);
+    }
+
+    @Test
+    public void givenTasksChangedSincePolledWhenOnOverdueThenOnlyTransitionedTasksRecorded() {
+        when(taskRepository.lockStatusAndDueDates(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new TaskStatusDueDate(1L, TaskStatus.TODO, YESTERDAY),
+                new TaskStatusDueDate(2L, TaskStatus.COMPLETED, YESTERDAY),
+                new TaskStatusDueDate(3L, TaskStatus.TODO, TODAY.plusDays(1))));
+
+        overdueTransitionHandler.onOverdue(List.of(
+                task(1L, TaskStatus.TODO), task(2L, TaskStatus.TODO), task(3L, TaskStatus.TODO)), TODAY);
+
+        verify(taskRepository).transitionOverdue(List.of(1L), TaskStatus.TODO, TaskStatus.ON_HOLD, TODAY);
+        verify(statisticsService).recordUpdated(TaskStatus.TODO, YESTERDAY, TaskStatus.ON_HOLD, YESTERDAY);
+        verify(taskChangeService).record(1L, TaskChangeType.UPDATED);
+        verify(taskChangeService, never()).record(2L, TaskChangeType.UPDATED);
+        verify(taskChangeService, never()).record(3L, TaskChangeType.UPDATED);
+        verify(statisticsService, never()).markStale();
+        verify(taskPageCache).invalidate();
+    }
+
+    @Test
+    public void givenNoTaskInSourceStatusWhenOnOverdueThenNothingTransitioned() {
+        when(taskRepository.lockStatusAndDueDates(List.of(1L)))
+                .thenReturn(List.of(new TaskStatusDueDate(1L, TaskStatus.IN_PROGRESS, YESTERDAY)));
+
+        overdueTransitionHandler.onOverdue(List.of(task(1L, TaskStatus.TODO)), TODAY);
+
+        verify(taskRepository, never()).transitionOverdue(any(), any(), any(), any());
+        verify(taskChangeService, never()).record(anyLong(), any());
+        verify(taskPageCache, never()).invalidate();
+    }
+
+    private static TaskDto task(Long id, TaskStatus status) {
+        return new TaskDto(id, "title", "description", status, YESTERDAY, 0L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.proxy.task.due;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskDueIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+
+    private final TaskDueIndex index = new TaskDueIndex();
+
+    @Test
+    public void givenTasksWhenPollDueBeforeThenEarliestFirstUpToLimit() {
+        index.reset(TODAY.plusDays(7));
+        index.put(1L, TODAY.minusDays(1));
+        index.put(2L, TODAY.minusDays(3));
+        index.put(3L, TODAY);
+
+        assertThat(index.pollDueBefore(TODAY, 1)).containsExactly(2L);
+        assertThat(index.pollDueBefore(TODAY, 10)).containsExactly(1L);
+        assertThat(index.pollDueBefore(TODAY, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTaskMovedWhenPollDueBeforeThenOnlyNewDateCounts() {
+        index.reset(TODAY.plusDays(7));
+        index.put(1L, TODAY.minusDays(1));
+        index.put(1L, TODAY.plusDays(1));
+
+        assertThat(index.pollDueBefore(TODAY, 10)).isEmpty();
+        assertThat(index.pollDueBefore(TODAY.plusDays(2), 10)).containsExactly(1L);
+    }
+
+    @Test
+    public void givenDueDateBeyondWindowWhenPutThenIgnoredUntilExtended() {
+        index.reset(TODAY.plusDays(1));
+        index.put(1L, TODAY.plusDays(3));
+
+        assertThat(index.size()).isZero();
+
+        index.extendTo(TODAY.plusDays(7));
+        index.put(1L, TODAY.plusDays(3));
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTrackedTaskWhenPutIfAbsentThenTrackedDateKept() {
+        index.reset(TODAY.plusDays(7));
+        index.put(1L, TODAY.plusDays(2));
+        index.putIfAbsent(1L, TODAY.minusDays(1));
+
+        assertThat(index.pollDueBefore(TODAY, 10)).isEmpty();
+    }
+}
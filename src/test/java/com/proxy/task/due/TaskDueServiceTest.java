@@ -0,0 +1,153 @@
+package com.proxy.task.due;
+
+import com.proxy.task.config.TaskDueProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskDueDate;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskDueServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskOverdueHandler overdueHandler;
+
+    private final TaskDueProperties dueProperties = new TaskDueProperties();
+
+    private TaskDueServiceImpl taskDueService;
+
+    @BeforeEach
+    public void setUp() {
+        var clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+        taskDueService = new TaskDueServiceImpl(taskRepository, dueProperties, List.of(overdueHandler), clock);
+    }
+
+    @Test
+    public void givenNotRebuiltWhenFireOverdueThenNothingQueried() {
+        taskDueService.fireOverdue();
+
+        verify(taskRepository, never()).findDtosByIds(anyCollection());
+        verify(overdueHandler, never()).onOverdue(any(), any());
+    }
+
+    @Test
+    public void givenOverdueAndUpcomingTasksWhenFireOverdueThenOnlyOverdueHandled() {
+        var overdue = task(1L, TaskStatus.TODO, TODAY.minusDays(1));
+        when(taskRepository.findOpenDueBetween(TODAY.minusDays(1), TODAY.plusDays(7)))
+                .thenReturn(List.of(new TaskDueDate(1L, TODAY.minusDays(1)), new TaskDueDate(2L, TODAY.plusDays(1))));
+        when(taskRepository.findDtosByIds(List.of(1L))).thenReturn(List.of(overdue));
+
+        taskDueService.rebuild();
+        taskDueService.fireOverdue();
+
+        verify(overdueHandler).onOverdue(List.of(overdue), TODAY);
+    }
+
+    @Test
+    public void givenInsertedTasksWhenTrackInsertedAfterThenOnlyNewRowsLoaded() {
+        var inserted = task(11L, TaskStatus.TODO, TODAY.minusDays(1));
+        when(taskRepository.findOpenDueBetween(any(), any())).thenReturn(List.of());
+        when(taskRepository.findOpenDueBetweenWithIdAfter(10L, TODAY.minusDays(1), TODAY.plusDays(7)))
+                .thenReturn(List.of(new TaskDueDate(11L, TODAY.minusDays(1))));
+        when(taskRepository.findDtosByIds(List.of(11L))).thenReturn(List.of(inserted));
+
+        taskDueService.rebuild();
+        taskDueService.trackInsertedAfter(10L);
+        taskDueService.fireOverdue();
+
+        verify(taskRepository, times(1)).findOpenDueBetween(any(), any());
+        verify(overdueHandler).onOverdue(List.of(inserted), TODAY);
+    }
+
+    @Test
+    public void givenTaskCompletedMeanwhileWhenFireOverdueThenNotHandled() {
+        when(taskRepository.findOpenDueBetween(any(), any())).thenReturn(List.of(new TaskDueDate(1L, TODAY.minusDays(1))));
+        when(taskRepository.findDtosByIds(List.of(1L))).thenReturn(List.of(task(1L, TaskStatus.COMPLETED, TODAY.minusDays(1))));
+
+        taskDueService.rebuild();
+        taskDueService.fireOverdue();
+
+        verify(overdueHandler, never()).onOverdue(any(), any());
+    }
+
+    @Test
+    public void givenMoreOverdueTasksThanBatchSizeWhenFireOverdueThenHandledInBatches() {
+        dueProperties.setBatchSize(2);
+        when(taskRepository.findOpenDueBetween(any(), any())).thenReturn(List.of(
+                new TaskDueDate(1L, TODAY.minusDays(1)),
+                new TaskDueDate(2L, TODAY.minusDays(1)),
+                new TaskDueDate(3L, TODAY.minusDays(1))));
+        when(taskRepository.findDtosByIds(anyCollection())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+                .map(id -> task(id, TaskStatus.TODO, TODAY.minusDays(1)))
+                .toList());
+
+        taskDueService.rebuild();
+        taskDueService.fireOverdue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskDto>> batches = ArgumentCaptor.forClass(List.class);
+        verify(overdueHandler, times(2)).onOverdue(batches.capture(), eq(TODAY));
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+    }
+
+    @Test
+    public void givenTrackedAndCompletedTasksWhenFireOverdueThenOnlyOpenTaskHandled() {
+        var overdue = task(1L, TaskStatus.IN_PROGRESS, TODAY.minusDays(3));
+        when(taskRepository.findOpenDueBetween(any(), any())).thenReturn(List.of());
+        when(taskRepository.findDtosByIds(List.of(1L))).thenReturn(List.of(overdue));
+
+        taskDueService.rebuild();
+        taskDueService.track(1L, TaskStatus.IN_PROGRESS, TODAY.minusDays(3));
+        taskDueService.track(2L, TaskStatus.TODO, TODAY.minusDays(2));
+        taskDueService.track(2L, TaskStatus.COMPLETED, TODAY.minusDays(2));
+        taskDueService.fireOverdue();
+
+        verify(overdueHandler).onOverdue(List.of(overdue), TODAY);
+    }
+
+    @Test
+    public void givenFailingHandlerWhenFireOverdueThenRetriedOnNextTick() {
+        var overdue = task(1L, TaskStatus.TODO, TODAY.minusDays(1));
+        when(taskRepository.findOpenDueBetween(any(), any())).thenReturn(List.of(new TaskDueDate(1L, TODAY.minusDays(1))));
+        when(taskRepository.findDtosByIds(List.of(1L))).thenReturn(List.of(overdue));
+        doThrow(new IllegalStateException("unavailable")).doNothing().when(overdueHandler).onOverdue(List.of(overdue), TODAY);
+
+        taskDueService.rebuild();
+        taskDueService.fireOverdue();
+        verify(overdueHandler, times(1)).onOverdue(List.of(overdue), TODAY);
+
+        taskDueService.fireOverdue();
+        taskDueService.fireOverdue();
+        verify(overdueHandler, times(2)).onOverdue(List.of(overdue), TODAY);
+    }
+
+    private static TaskDto task(Long id, TaskStatus status, LocalDate dueDate) {
+        return new TaskDto(id, "title", "description", status, dueDate, 0L);
+    }
+}
@@ -0,0 +1,158 @@
+package com.proxy.task.filter;
+
+import com.proxy.task.admission.TaskEndpointClass;
+import com.proxy.task.config.TaskAdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final TaskAdmissionProperties admissionProperties = new TaskAdmissionProperties();
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        admissionProperties.setClientRate(1);
+        admissionProperties.setClientBurst(2);
+        admissionProperties.getSearch().setInitialLimit(1);
+        admissionProperties.getSearch().setMinLimit(1);
+        admissionProperties.getSearch().setTargetLatency(Duration.ofMillis(100));
+
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+
+        filter = new AdmissionControlFilter(admissionProperties, nanos::get, beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    public void givenClientOverBurstWhenFilterThenTooManyRequestsWithRetryAfter() throws Exception {
+        assertThat(perform(read("10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(perform(read("10.0.0.1")).getStatus()).isEqualTo(200);
+
+        var rejected = perform(read("10.0.0.1"));
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(perform(read("10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("task.admission.rejected").tag("reason", "rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTokensRefilledWhenFilterThenClientAdmittedAgain() throws Exception {
+        perform(read("10.0.0.1"));
+        perform(read("10.0.0.1"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(perform(read("10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void givenSearchInFlightWhenAnotherSearchArrivesThenRejectedWhileReadsPass() throws Exception {
+        var nested = new MockHttpServletResponse[2];
+
+        filter.doFilter(search("10.0.0.1"), new MockHttpServletResponse(), (request, response) -> {
+            nested[0] = perform(search("10.0.0.2"));
+            nested[1] = perform(read("10.0.0.2"));
+        });
+
+        assertThat(nested[0].getStatus()).isEqualTo(429);
+        assertThat(nested[1].getStatus()).isEqualTo(200);
+        assertThat(filter.getLimits().get(TaskEndpointClass.SEARCH).getInFlight()).isZero();
+    }
+
+    @Test
+    public void givenSlowSearchWhenCompletedThenSearchLimitShrinks() throws Exception {
+        admissionProperties.getSearch().setInitialLimit(10);
+        var beanFactory = new StaticListableBeanFactory();
+        filter = new AdmissionControlFilter(admissionProperties, nanos::get, beanFactory.getBeanProvider(MeterRegistry.class));
+
+        filter.doFilter(search("10.0.0.1"), new MockHttpServletResponse(),
+                (request, response) -> nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500)));
+
+        assertThat(filter.getLimits().get(TaskEndpointClass.SEARCH).getLimit()).isLessThan(10);
+    }
+
+    @Test
+    public void givenSpoofedClientHeaderWhenFilterThenLimitedPerRemoteAddress() throws Exception {
+        var spoofed = new MockHttpServletRequest[3];
+        for (var i = 0; i < spoofed.length; i++) {
+            spoofed[i] = read("10.0.0.1");
+            spoofed[i].addHeader("X-Client-Id", "client-" + i);
+        }
+
+        perform(spoofed[0]);
+        perform(spoofed[1]);
+
+        assertThat(perform(spoofed[2]).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    public void givenAuthenticatedPrincipalWhenFilterThenLimitedPerPrincipal() throws Exception {
+        var requests = new MockHttpServletRequest[3];
+        for (var i = 0; i < requests.length; i++) {
+            requests[i] = read("10.0.0." + i);
+            requests[i].setUserPrincipal(() -> "alice");
+        }
+
+        perform(requests[0]);
+        perform(requests[1]);
+
+        assertThat(perform(requests[2]).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    public void givenMultiGetWhenClassifyThenRead() {
+        var request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.setParameter("ids", "1,2");
+
+        assertThat(TaskEndpointClass.of(request)).isEqualTo(TaskEndpointClass.READ);
+        assertThat(TaskEndpointClass.of(new MockHttpServletRequest("GET", "/api/v1/tasks"))).isEqualTo(TaskEndpointClass.SEARCH);
+    }
+
+    @Test
+    public void givenChangeFeedWhenFilterThenNotLimited() throws Exception {
+        admissionProperties.setClientBurst(0);
+
+        var request = new MockHttpServletRequest("GET", "/api/v1/tasks/changes");
+
+        assertThat(perform(request).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest read(String clientAddress) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/tasks/1");
+        request.setRemoteAddr(clientAddress);
+        return request;
+    }
+
+    private MockHttpServletRequest search(String clientAddress) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/tasks/page");
+        request.setParameter("q", "report");
+        request.setRemoteAddr(clientAddress);
+        return request;
+    }
+}
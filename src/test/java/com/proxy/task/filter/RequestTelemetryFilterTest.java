@@ -0,0 +1,58 @@
+package com.proxy.task.filter;
+
+import com.proxy.task.config.TaskLoggingProperties;
+import com.proxy.task.metrics.CountingStatementInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestTelemetryFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RequestTelemetryFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        ObjectProvider<MeterRegistry> meterRegistryProvider = beanFactory.getBeanProvider(MeterRegistry.class);
+
+        filter = new RequestTelemetryFilter(new TaskLoggingProperties(), meterRegistryProvider);
+    }
+
+    @Test
+    public void givenRequestPreparingStatementsWhenFilterThenRecordStatementsPerRoute() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/tasks/1");
+        var inspector = new CountingStatementInspector();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/tasks/{taskId}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        });
+
+        var statements = meterRegistry.get("task.http.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/tasks/{taskId}")
+                .summary();
+
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenStatementOutsideRequestWhenInspectThenNothingRecorded() {
+        new CountingStatementInspector().inspect("select 1");
+
+        assertThat(meterRegistry.find("task.http.statements").summary()).isNull();
+    }
+}
@@ -0,0 +1,133 @@
+package com.proxy.task.ingestion;
+
+import com.proxy.task.config.TaskIngestionProperties;
+import com.proxy.task.dto.TaskBatchItemResult;
+import com.proxy.task.dto.TaskBatchItemStatus;
+import com.proxy.task.dto.TaskBatchResult;
+import com.proxy.task.dto.TaskIngestionStatus;
+import com.proxy.task.dto.TaskIngestionTicketDto;
+import com.proxy.task.exception.TaskIngestionRejectedException;
+import com.proxy.task.exception.TaskIngestionTicketNotFoundException;
+import com.proxy.task.service.TaskBatchService;
+import com.proxy.task.util.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.proxy.task.util.TestUtil.TASK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskIngestionServiceTest {
+
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    private TaskIngestionProperties properties;
+
+    private TaskIngestionServiceImpl taskIngestionService;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new TaskIngestionProperties();
+        properties.setQueueCapacity(10);
+        properties.setFlushInterval(Duration.ofMillis(5));
+
+        taskIngestionService = new TaskIngestionServiceImpl(taskBatchService, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (taskIngestionService.isRunning()) {
+            taskIngestionService.stop();
+        }
+    }
+
+    @Test
+    public void givenRunningFlusherWhenSubmitTaskThenTicketBecomesPersisted() throws Exception {
+        var taskDto = TestUtil.buildTaskDto();
+        var created = TaskBatchItemResult.builder().index(0).id(TASK_ID).status(TaskBatchItemStatus.CREATED).task(taskDto).build();
+
+        when(taskBatchService.saveAll(anyList())).thenReturn(new TaskBatchResult(1, 0, List.of(created)));
+
+        taskIngestionService.start();
+        var ticket = taskIngestionService.submit(taskDto);
+
+        assertThat(ticket.getStatus()).isEqualTo(TaskIngestionStatus.QUEUED);
+
+        var persisted = awaitResolved(ticket.getTicketId());
+
+        assertThat(persisted.getStatus()).isEqualTo(TaskIngestionStatus.PERSISTED);
+        assertThat(persisted.getTaskId()).isEqualTo(TASK_ID);
+    }
+
+    @Test
+    public void givenStuckFlusherWhenStopThenFailUnwrittenTickets() throws Exception {
+        properties.setBatchSize(1);
+        properties.setShutdownTimeout(Duration.ofMillis(50));
+        taskIngestionService = new TaskIngestionServiceImpl(taskBatchService, properties);
+
+        var writing = new CountDownLatch(1);
+
+        when(taskBatchService.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+            return null;
+        });
+
+        taskIngestionService.start();
+        var inFlight = taskIngestionService.submit(TestUtil.buildTaskDto());
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = taskIngestionService.submit(TestUtil.buildTaskDto());
+
+        taskIngestionService.stop();
+
+        assertThat(taskIngestionService.findTicket(inFlight.getTicketId()).getStatus()).isEqualTo(TaskIngestionStatus.FAILED);
+        assertThat(taskIngestionService.findTicket(queued.getTicketId()).getStatus()).isEqualTo(TaskIngestionStatus.FAILED);
+        verify(taskBatchService).saveAll(anyList());
+    }
+
+    @Test
+    public void givenStoppedFlusherWhenSubmitTaskThenReject() {
+        assertThatThrownBy(() -> taskIngestionService.submit(TestUtil.buildTaskDto()))
+                .isInstanceOf(TaskIngestionRejectedException.class);
+    }
+
+    @Test
+    public void givenUnknownTicketWhenFindTicketThenThrowException() {
+        var ticketId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> taskIngestionService.findTicket(ticketId))
+                .isInstanceOf(TaskIngestionTicketNotFoundException.class);
+    }
+
+    private TaskIngestionTicketDto awaitResolved(UUID ticketId) throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        var ticket = taskIngestionService.findTicket(ticketId);
+
+        while (ticket.getStatus() == TaskIngestionStatus.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            ticket = taskIngestionService.findTicket(ticketId);
+        }
+
+        return ticket;
+    }
+}
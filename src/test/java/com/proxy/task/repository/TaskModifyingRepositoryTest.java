@@ -0,0 +1,81 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.entity.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TaskModifyingRepositoryTest {
+
+    private static final long TASK_ID = 1L;
+    private static final LocalDate DUE_DATE = LocalDate.of(2030, 1, 1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into task (id, title, description, status, due_date, version) values (?, 'title', 'description', 'TODO', ?, 0)",
+                TASK_ID, DUE_DATE);
+    }
+
+    @Test
+    public void givenTaskWhenPatchReturningPreviousThenReturnValuesBeforeUpdate() {
+
+        var previous = taskRepository.patchReturningPrevious(TASK_ID, 0L, null, null, TaskStatus.COMPLETED, DUE_DATE.plusDays(1));
+
+        assertThat(previous).contains(new TaskStatusDueDate(TASK_ID, TaskStatus.TODO, DUE_DATE));
+        assertThat(task()).containsEntry("title", "title").containsEntry("status", "COMPLETED").containsEntry("version", 1L);
+    }
+
+    @Test
+    public void givenStaleVersionWhenPatchReturningPreviousThenNothingUpdated() {
+
+        var previous = taskRepository.patchReturningPrevious(TASK_ID, 5L, "changed", null, null, null);
+
+        assertThat(previous).isEmpty();
+        assertThat(task()).containsEntry("title", "title").containsEntry("version", 0L);
+    }
+
+    @Test
+    public void givenTaskWhenDeleteReturningPreviousThenReturnDeletedValues() {
+
+        var previous = taskRepository.deleteReturningPrevious(TASK_ID, null);
+
+        assertThat(previous).contains(new TaskStatusDueDate(TASK_ID, TaskStatus.TODO, DUE_DATE));
+        assertThat(taskRepository.existsById(TASK_ID)).isFalse();
+    }
+
+    @Test
+    public void givenMissingTaskWhenDeleteReturningPreviousThenEmpty() {
+
+        assertThat(taskRepository.deleteReturningPrevious(2L, null)).isEmpty();
+    }
+
+    private Map<String, Object> task() {
+        return jdbcTemplate.queryForMap("select title, status, version from task where id = ?", TASK_ID);
+    }
+}
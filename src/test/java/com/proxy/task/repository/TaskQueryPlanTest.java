@@ -0,0 +1,218 @@
+package com.proxy.task.repository;
+
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.service.TaskCursor;
+import com.proxy.task.service.TaskSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on a migrated PostgreSQL schema that the queries the repository generates for the common filter
+ * and sort combinations are answered from the indexes created by the migrations. The statements and their
+ * parameters are recorded by {@link RecordingDataSource} while the repository runs them, and are explained
+ * as sent. The filters and seeks have to show up as index conditions, a scan of the whole index filtering
+ * the rows afterwards does not pass.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskQueryPlanTest.RecordingConfiguration.class)
+public class TaskQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("""
+                insert into task (id, title, description, status, due_date, version)
+                select n, 'Task ' || n, 'Description of task ' || n,
+                       (array['TODO', 'IN_PROGRESS', 'COMPLETED', 'ON_HOLD'])[n % 4 + 1],
+                       date '2030-01-01' + n % 365, 0
+                from generate_series(1, 20000) n
+                """);
+        jdbcTemplate.execute("analyze task");
+        RecordingDataSource.statements.clear();
+    }
+
+    @Test
+    public void givenStatusFilterWhenFindPageSortedByDueDateThenSeekStatusInIndex() {
+        taskRepository.findDtoPage(TaskSpecification.filterBy(null, null, TaskStatus.TODO, null),
+                PageRequest.of(5, 20, Sort.by("dueDate", "id")));
+
+        var plan = explainFirstQuery();
+
+        assertThat(plan).contains("status_due_date_id_idx").doesNotContain("Filter:");
+        assertThat(indexConditions(plan)).isNotEmpty().allMatch(condition -> condition.contains("status"));
+    }
+
+    @Test
+    public void givenStatusFilterWhenSeekAfterCursorThenStartIndexRangeAtCursor() {
+        var order = Sort.Order.asc("dueDate");
+        var cursor = new TaskCursor(order, LocalDate.of(2030, 6, 1), 500L);
+
+        taskRepository.findDtos(TaskSpecification.filterBy(null, null, TaskStatus.TODO, null).and(TaskSpecification.after(cursor)),
+                TaskCursor.seekSort(order), 21);
+
+        var plan = explainFirstQuery();
+
+        assertThat(plan).contains("status_due_date_id_idx").doesNotContain("Filter:");
+        assertThat(indexConditions(plan)).isNotEmpty()
+                .allMatch(condition -> condition.contains("status") && condition.matches(".*ROW\\((\\w+\\.)?due_date, (\\w+\\.)?id\\) >.*"));
+    }
+
+    @Test
+    public void givenStatusFilterWhenSortByIdThenSeekStatusInIndex() {
+        var order = Sort.Order.asc("id");
+
+        taskRepository.findDtos(TaskSpecification.filterBy(null, null, TaskStatus.ON_HOLD, null), TaskCursor.seekSort(order), 20);
+
+        var plan = explainFirstQuery();
+
+        assertThat(plan).contains("status_id_idx").doesNotContain("Filter:");
+        assertThat(indexConditions(plan)).isNotEmpty().allMatch(condition -> condition.contains("status"));
+    }
+
+    @Test
+    public void givenDueDateFilterWhenFindPageThenSeekDueDateInIndex() {
+        taskRepository.findDtoPage(TaskSpecification.filterBy(null, null, null, LocalDate.of(2030, 3, 1)),
+                PageRequest.of(0, 20, Sort.by("id")));
+
+        var plan = explainFirstQuery();
+
+        assertThat(plan).contains("task_due_date_id_idx").doesNotContain("Filter:");
+        assertThat(indexConditions(plan)).isNotEmpty().allMatch(condition -> condition.contains("due_date ="));
+    }
+
+    @Test
+    public void givenSearchQueryWhenSearchThenUseFullTextIndex() {
+        taskRepository.search("12345", null, null, PageRequest.of(0, 20));
+
+        var plan = explainFirstQuery();
+
+        assertThat(plan).contains("task_search_idx").doesNotContain("Seq Scan");
+        assertThat(indexConditions(plan)).isNotEmpty().allMatch(condition -> condition.contains("@@"));
+    }
+
+    /**
+     * Explains the first statement the repository sent, with the parameters it was executed with.
+     */
+    private String explainFirstQuery() {
+        assertThat(RecordingDataSource.statements).isNotEmpty();
+
+        var statement = RecordingDataSource.statements.getFirst();
+
+        return String.join("\n", jdbcTemplate.queryForList("explain " + statement.sql(), String.class, statement.parameters().toArray()));
+    }
+
+    private static List<String> indexConditions(String plan) {
+        return plan.lines().filter(line -> line.contains("Index Cond:")).toList();
+    }
+
+    @TestConfiguration
+    static class RecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                            ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Records the prepared statements executed through it together with their parameters.
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        static final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+        RecordingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var connection = super.getConnection();
+
+            return proxy(Connection.class, (proxy, method, args) -> {
+                var result = invoke(connection, method, args);
+
+                return result instanceof PreparedStatement preparedStatement && args[0] instanceof String sql
+                        ? recording(preparedStatement, sql) : result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement preparedStatement, String sql) {
+            var parameters = new TreeMap<Integer, Object>();
+
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, "setNull".equals(method.getName()) ? null : args[1]);
+                } else if (method.getName().startsWith("execute") && args == null) {
+                    statements.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                }
+
+                return invoke(preparedStatement, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.proxy.task.service;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.due.TaskDueService;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.mapper.TaskMapperImpl;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on a migrated PostgreSQL schema that the batch endpoints write with JDBC batches of
+ * {@code hibernate.jdbc.batch_size} rows instead of one statement per task. The JDBC calls of every
+ * session are counted by {@link JdbcCalls}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session.events.auto=com.proxy.task.service.TaskBatchJdbcBatchingTest$JdbcCalls")
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskBatchServiceImpl.class, TaskMapperImpl.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+public class TaskBatchJdbcBatchingTest {
+
+    private static final int TASK_COUNT = 120;
+    private static final LocalDate DUE_DATE = LocalDate.of(2030, 1, 1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13");
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private TaskStatisticsService statisticsService;
+
+    @MockitoBean
+    private TaskChangeService taskChangeService;
+
+    @MockitoBean
+    private TaskPageCache taskPageCache;
+
+    @MockitoBean
+    private TaskDueService taskDueService;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("""
+                insert into task (id, title, description, status, due_date, version)
+                select n, 'Task ' || n, 'Description of task ' || n, 'TODO', ?, 0
+                from generate_series(1, ?) n
+                """, DUE_DATE, TASK_COUNT);
+        JdbcCalls.reset();
+    }
+
+    @Test
+    public void givenTasksWhenSaveAllThenInsertInJdbcBatches() {
+
+        var taskDtos = LongStream.rangeClosed(1, TASK_COUNT)
+                .mapToObj(n -> TaskDto.builder().title("New task " + n).description("Description")
+                        .status(TaskStatus.TODO).dueDate(DUE_DATE).build())
+                .toList();
+
+        var result = taskBatchService.saveAll(taskDtos);
+
+        assertThat(result.getSucceeded()).isEqualTo(TASK_COUNT);
+        // 50 + 50 + 20 rows
+        assertThat(JdbcCalls.batches).hasValue(3);
+    }
+
+    @Test
+    public void givenTasksWhenUpdateAllThenUpdateInJdbcBatches() {
+
+        var taskDtos = LongStream.rangeClosed(1, TASK_COUNT)
+                .mapToObj(id -> TaskDto.builder().id(id).title("Updated task " + id).description("Description")
+                        .status(TaskStatus.IN_PROGRESS).dueDate(DUE_DATE).version(0L).build())
+                .toList();
+
+        var result = taskBatchService.updateAll(taskDtos);
+
+        assertThat(result.getSucceeded()).isEqualTo(TASK_COUNT);
+        // 50 + 50 + 20 rows
+        assertThat(JdbcCalls.batches).hasValue(3);
+        // the tasks are loaded with a single query
+        assertThat(JdbcCalls.statements).hasValue(1);
+    }
+
+    @Test
+    public void givenTaskIdsWhenDeleteAllThenDeleteWithSingleStatement() {
+
+        var taskIds = LongStream.rangeClosed(1, TASK_COUNT).boxed().toList();
+
+        var result = taskBatchService.deleteAll(taskIds);
+
+        assertThat(result.getSucceeded()).isEqualTo(TASK_COUNT);
+        assertThat(JdbcCalls.batches).hasValue(0);
+        // locking the rows and the bulk delete
+        assertThat(JdbcCalls.statements).hasValue(2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from task", Long.class)).isZero();
+    }
+
+    /**
+     * Counts the JDBC batches and the statements executed outside of batches.
+     */
+    public static class JdbcCalls implements SessionEventListener {
+
+        static final AtomicInteger batches = new AtomicInteger();
+        static final AtomicInteger statements = new AtomicInteger();
+
+        static void reset() {
+            batches.set(0);
+            statements.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements.incrementAndGet();
+        }
+    }
+}
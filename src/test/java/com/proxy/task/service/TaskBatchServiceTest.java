@@ -0,0 +1,171 @@
+package com.proxy.task.service;
+
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.dto.TaskBatchItemResult;
+import com.proxy.task.dto.TaskBatchItemStatus;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.due.TaskDueService;
+import com.proxy.task.mapper.TaskMapper;
+import com.proxy.task.repository.TaskRepository;
+import com.proxy.task.util.TestUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static com.proxy.task.util.TestUtil.TASK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskBatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskMapper taskMapper;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private TaskStatisticsService statisticsService;
+    @Mock
+    private TaskChangeService taskChangeService;
+    @Mock
+    private TaskPageCache taskPageCache;
+    @Mock
+    private TaskDueService taskDueService;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS_CACHE);
+
+    private TaskBatchServiceImpl taskBatchService;
+
+    @BeforeEach
+    public void setUp() {
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        taskBatchService = new TaskBatchServiceImpl(taskMapper, taskRepository, validator, entityManager, cacheManager, statisticsService, taskChangeService, taskPageCache, taskDueService);
+    }
+
+    @Test
+    public void givenValidAndInvalidTasksWhenSaveAllThenReportEachItem() {
+        var task = TestUtil.buildTask();
+        var taskDto = TestUtil.buildTaskDto();
+        var invalidTaskDto = TestUtil.buildEmptyTaskDto();
+
+        when(taskMapper.toEntity(taskDto)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(task);
+        when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+        var result = taskBatchService.saveAll(List.of(taskDto, invalidTaskDto));
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(TaskBatchItemStatus.CREATED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(TaskBatchItemStatus.INVALID);
+        assertThat(result.getItems().get(1).getErrors()).containsAllEntriesOf(TestUtil.getErrorsMap());
+
+        verify(taskRepository).save(task);
+    }
+
+    @Test
+    public void givenNullTaskWhenSaveAllThenReportInvalid() {
+        var result = taskBatchService.saveAll(Arrays.asList(null, TestUtil.buildEmptyTaskDto()));
+
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(TaskBatchItemResult::getStatus)
+                .containsExactly(TaskBatchItemStatus.INVALID, TaskBatchItemStatus.INVALID);
+        assertThat(result.getItems().get(0).getErrors()).containsOnlyKeys("task");
+    }
+
+    @Test
+    public void givenUpdatedTaskWhenUpdateAllThenReportVersionAfterFlush() {
+        var task = TestUtil.buildTask();
+        task.setVersion(0L);
+        var taskDto = TestUtil.buildTaskDto();
+
+        when(taskRepository.findAllById(List.of(TASK_ID))).thenReturn(List.of(task));
+        doAnswer(invocation -> {
+            task.setVersion(1L);
+            return null;
+        }).when(entityManager).flush();
+        when(taskMapper.toDto(task)).thenAnswer(invocation -> TaskDto.builder().id(TASK_ID).version(task.getVersion()).build());
+
+        var result = taskBatchService.updateAll(List.of(taskDto));
+
+        assertThat(result.getItems().get(0).getTask().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void givenMissingTaskWhenUpdateAllThenReportNotFound() {
+        var task = TestUtil.buildTask();
+        var taskDto = TestUtil.buildTaskDto();
+        var missingTaskDto = TestUtil.buildTaskDto(2L, "title", "description", TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE);
+
+        when(taskRepository.findAllById(List.of(TASK_ID, 2L))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+        var result = taskBatchService.updateAll(List.of(taskDto, missingTaskDto));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(TaskBatchItemStatus.UPDATED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(TaskBatchItemStatus.NOT_FOUND);
+
+        verify(taskMapper).updateTask(taskDto, task);
+        verify(statisticsService).recordUpdated(task.getStatus(), task.getDueDate(), task.getStatus(), task.getDueDate());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    public void givenCachedTaskWhenDeleteAllThenEvictIt() {
+        var cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        cache.put(TASK_ID, TestUtil.buildTaskDto());
+
+        when(taskRepository.lockStatusAndDueDates(List.of(TASK_ID))).thenReturn(List.of(
+                new TaskStatusDueDate(TASK_ID, TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE)));
+
+        taskBatchService.deleteAll(List.of(TASK_ID));
+
+        assertThat(cache.get(TASK_ID)).isNull();
+    }
+
+    @Test
+    public void givenMissingTaskWhenDeleteAllThenDeleteExistingInOneStatement() {
+
+        when(taskRepository.lockStatusAndDueDates(List.of(TASK_ID, 2L))).thenReturn(List.of(
+                new TaskStatusDueDate(TASK_ID, TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE)));
+
+        var result = taskBatchService.deleteAll(List.of(TASK_ID, 2L));
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(TaskBatchItemStatus.DELETED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(TaskBatchItemStatus.NOT_FOUND);
+
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(TASK_ID));
+        verify(statisticsService).recordDeleted(TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE);
+    }
+
+    @Test
+    public void givenRepeatedIdWhenDeleteAllThenDeletedOnce() {
+
+        when(taskRepository.lockStatusAndDueDates(List.of(TASK_ID, TASK_ID))).thenReturn(List.of(
+                new TaskStatusDueDate(TASK_ID, TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE)));
+
+        var result = taskBatchService.deleteAll(List.of(TASK_ID, TASK_ID));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(TaskBatchItemStatus.DELETED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(TaskBatchItemStatus.NOT_FOUND);
+
+        verify(statisticsService).recordDeleted(TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE);
+    }
+}
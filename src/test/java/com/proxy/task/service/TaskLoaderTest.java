@@ -0,0 +1,153 @@
+package com.proxy.task.service;
+
+import com.proxy.task.config.TaskLoaderProperties;
+import com.proxy.task.dto.TaskDto;
+import com.proxy.task.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskLoaderTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TaskLoaderProperties loaderProperties = new TaskLoaderProperties();
+
+    private TaskLoader taskLoader;
+
+    @BeforeEach
+    public void setUp() {
+        taskLoader = new TaskLoader(taskRepository, loaderProperties, transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskLoader.destroy();
+    }
+
+    @Test
+    public void givenLoadInFlightWhenLoadSameIdThenShareQuery() throws Exception {
+        var task = task(1L);
+        var queryStarted = new CountDownLatch(1);
+        var releaseQuery = new CountDownLatch(1);
+
+        when(taskRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return Optional.of(task);
+        });
+
+        var first = CompletableFuture.supplyAsync(() -> taskLoader.load(1L));
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        var second = CompletableFuture.supplyAsync(() -> taskLoader.load(1L));
+
+        Thread.sleep(50);
+        releaseQuery.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).contains(task);
+        assertThat(second.get(5, TimeUnit.SECONDS)).contains(task);
+        verify(taskRepository, times(1)).findDtoById(1L);
+    }
+
+    @Test
+    public void givenFailingLoadWhenLoadThenExceptionPropagated() {
+        when(taskRepository.findDtoById(1L)).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> taskLoader.load(1L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void givenConcurrentLoadAllWithinWindowWhenLoadAllThenIdsQueriedTogether() throws Exception {
+        loaderProperties.setBatchWindow(Duration.ofMillis(200));
+        var queriedIds = new ArrayList<Collection<Long>>();
+
+        when(taskRepository.findDtosByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            queriedIds.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id != 3L).map(TaskLoaderTest::task).toList();
+        });
+
+        var first = CompletableFuture.supplyAsync(() -> taskLoader.loadAll(List.of(1L, 2L)));
+        var second = CompletableFuture.supplyAsync(() -> taskLoader.loadAll(List.of(2L, 3L)));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L, 2L);
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsOnlyKeys(2L);
+        assertThat(queriedIds).hasSize(1);
+        assertThat(queriedIds.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    public void givenMoreIdsThanMaxBatchSizeWhenLoadAllThenQueriesSplit() {
+        loaderProperties.setMaxBatchSize(2);
+
+        when(taskRepository.findDtosByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(TaskLoaderTest::task).toList();
+        });
+
+        var tasks = taskLoader.loadAll(List.of(1L, 2L, 3L));
+
+        assertThat(tasks).containsOnlyKeys(1L, 2L, 3L);
+        verify(taskRepository, times(2)).findDtosByIds(anyCollection());
+    }
+
+    @Test
+    public void givenBatchFilledAtOnceWhenLoadAllThenEveryCallerCompletes() throws Exception {
+        loaderProperties.setMaxBatchSize(1);
+
+        when(taskRepository.findDtosByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(TaskLoaderTest::task).toList();
+        });
+
+        var loads = new ArrayList<CompletableFuture<Map<Long, TaskDto>>>();
+        for (long id = 1; id <= 50; id++) {
+            var taskId = id;
+            loads.add(CompletableFuture.supplyAsync(() -> taskLoader.loadAll(List.of(taskId, taskId + 1))));
+        }
+
+        for (var load : loads) {
+            assertThat(load.get(5, TimeUnit.SECONDS)).hasSize(2);
+        }
+    }
+
+    @Test
+    public void givenBatchNeverDispatchedWhenLoadAllThenTimesOut() {
+        loaderProperties.setBatchWindow(Duration.ofMinutes(1));
+        loaderProperties.setLoadTimeout(Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> taskLoader.loadAll(List.of(1L)))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    private static TaskDto task(Long id) {
+        return TaskDto.builder().id(id).title("Task " + id).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.proxy.task.service;
+
+import com.proxy.task.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static com.proxy.task.util.TestUtil.buildTaskDto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskPageCacheTest {
+
+    private final TaskPageCache taskPageCache = new TaskPageCache();
+
+    @Test
+    public void givenEquivalentFiltersWhenKeyThenSameKey() {
+        var unfiltered = taskPageCache.key(null, null, TaskStatus.TODO, null, 0, 10, null);
+        var emptyFilters = taskPageCache.key("", "", TaskStatus.TODO, null, 0, 10, Sort.unsorted());
+
+        assertThat(emptyFilters).isEqualTo(unfiltered);
+    }
+
+    @Test
+    public void givenDifferentPagesWhenKeyThenDifferentKeys() {
+        var first = taskPageCache.key("report", null, null, null, 0, 10, Sort.by("title"));
+        var second = taskPageCache.key("report", null, null, null, 1, 10, Sort.by("title"));
+        var resorted = taskPageCache.key("report", null, null, null, 0, 10, Sort.by("dueDate"));
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(resorted).isNotEqualTo(first);
+    }
+
+    @Test
+    public void givenNoTransactionWhenInvalidateThenNewGenerationKeys() {
+        var before = taskPageCache.key(null, null, null, null, 0, 10, null);
+
+        taskPageCache.invalidate();
+
+        var after = taskPageCache.key(null, null, null, null, 0, 10, null);
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(after.generation()).isEqualTo(before.generation() + 1);
+    }
+
+    @Test
+    public void givenLargerPageWhenWeighThenHeavier() {
+        var key = taskPageCache.key(null, null, null, null, 0, 10, null);
+        var small = new PageImpl<>(List.of(buildTaskDto()));
+        var large = new PageImpl<>(List.of(buildTaskDto(), buildTaskDto(), buildTaskDto()));
+
+        assertThat(TaskPageCache.weigh(key, large)).isGreaterThan(TaskPageCache.weigh(key, small));
+    }
+}
@@ -1,8 +1,19 @@
 package com.proxy.task.service;
 
+import com.proxy.task.changes.TaskChangeService;
+import com.proxy.task.config.CacheConfig;
+import com.proxy.task.config.TaskLoaderProperties;
+import com.proxy.task.config.TaskSearchProperties;
 import com.proxy.task.dto.TaskDto;
+import com.proxy.task.dto.TaskPatchDto;
+import com.proxy.task.dto.TaskStatusDueDate;
+import com.proxy.task.due.TaskDueService;
 import com.proxy.task.entity.Task;
+import com.proxy.task.entity.TaskChangeType;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.exception.InvalidTaskRequestException;
 import com.proxy.task.exception.TaskNotFoundException;
+import com.proxy.task.exception.TaskVersionConflictException;
 import com.proxy.task.mapper.TaskMapper;
 import com.proxy.task.repository.TaskRepository;
 import com.proxy.task.util.TestUtil;
@@ -10,16 +21,36 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.proxy.task.util.TestUtil.TASK_ID;
 import static com.proxy.task.util.TestUtil.buildTaskDto;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,69 +60,291 @@ public class TaskServiceTest {
     private TaskRepository taskRepository;
     @Mock
     private TaskMapper taskMapper;
+    @Spy
+    private TaskSearchProperties searchProperties = new TaskSearchProperties();
+    @Mock
+    private TaskStatisticsService statisticsService;
+    @Mock
+    private TaskChangeService taskChangeService;
+    @Mock
+    private TaskPageCache taskPageCache;
+    @Mock
+    private TaskDueService taskDueService;
+    @Mock
+    private TaskLoader taskLoader;
+    @Spy
+    private TaskLoaderProperties loaderProperties = new TaskLoaderProperties();
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS_CACHE);
 
     @InjectMocks
     private TaskServiceImpl taskService;
 
     @Test
     public void givenNoTaskExistWhenFindAllTaskThenReturnEmptyList() {
-        var emptyTasks = List.<Task>of();
         var emptyTasksDto = List.<TaskDto>of();
-        when(taskRepository.findAll()).thenReturn(emptyTasks);
-        when(taskMapper.toDtoList(emptyTasks)).thenReturn(emptyTasksDto);
+        when(taskRepository.findAllDtos()).thenReturn(emptyTasksDto);
 
         var result = taskService.findAll();
 
         assertThat(result).isEmpty();
 
-        verify(taskRepository).findAll();
-        verify(taskMapper).toDtoList(emptyTasks);
+        verify(taskRepository).findAllDtos();
     }
 
     @Test
     public void givenTaskExistWhenFindAllTasksThenReturnTasksList() {
-        var task = TestUtil.buildTask();
         var taskDto = TestUtil.buildTaskDto();
-        var tasks = List.of(task);
         var tasksDto = List.of(taskDto);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
-        when(taskMapper.toDtoList(tasks)).thenReturn(tasksDto);
+        when(taskRepository.findAllDtos()).thenReturn(tasksDto);
 
         var result = taskService.findAll();
 
         assertThat(result).isEqualTo(tasksDto);
 
-        verify(taskRepository).findAll();
-        verify(taskMapper).toDtoList(tasks);
+        verify(taskRepository).findAllDtos();
+        verifyNoInteractions(taskMapper);
     }
 
     @Test
-    public void givenTaskExistWhenFindByIdThenReturnTask() {
+    public void givenTaskExistWhenStreamAllThenPassEachTaskToConsumer() {
+        var taskDto = TestUtil.buildTaskDto();
+        var consumed = new ArrayList<TaskDto>();
+
+        when(taskRepository.streamAll()).thenReturn(Stream.of(taskDto));
+
+        taskService.streamAll(consumed::add);
+
+        assertThat(consumed).containsExactly(taskDto);
+
+        verify(taskRepository).streamAll();
+    }
+
+    @Test
+    public void givenTaskExistWhenFindTaskPageThenReturnProjectedPage() {
+        var page = new PageImpl<>(List.of(TestUtil.buildTaskDto()));
+        var pageRequest = PageRequest.of(0, 10, Sort.unsorted());
+
+        when(taskRepository.findDtoPage(any(Specification.class), eq(pageRequest))).thenReturn(page);
+
+        var result = taskService.findTaskPage(null, null, null, null, 0, 10, Sort.unsorted());
+
+        assertThat(result).isEqualTo(page);
+
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    public void givenFullTextEnabledWhenSearchTaskPageThenUseFullTextQuery() {
         var task = TestUtil.buildTask();
         var taskDto = TestUtil.buildTaskDto();
+        var pageRequest = PageRequest.of(0, 10);
 
-        when(taskRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+        when(taskRepository.search("report", "TODO", null, pageRequest)).thenReturn(new PageImpl<>(List.of(task)));
+        when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+        var result = taskService.searchTaskPage("report", null, null, TaskStatus.TODO, null, 0, 10, Sort.unsorted());
+
+        assertThat(result.getContent()).containsExactly(taskDto);
+
+        verify(taskRepository).search("report", "TODO", null, pageRequest);
+    }
+
+    @Test
+    public void givenFullTextDisabledWhenSearchTaskPageThenFallBackToSpecification() {
+        var task = TestUtil.buildTask();
+        var taskDto = TestUtil.buildTaskDto();
+        var pageRequest = PageRequest.of(0, 10, Sort.by("id"));
+        searchProperties.setFullTextEnabled(false);
+
+        when(taskRepository.findAll(any(Specification.class), eq(pageRequest))).thenReturn(new PageImpl<>(List.of(task)));
         when(taskMapper.toDto(task)).thenReturn(taskDto);
 
+        var result = taskService.searchTaskPage("report", null, null, null, null, 0, 10, Sort.unsorted());
+
+        assertThat(result.getContent()).containsExactly(taskDto);
+
+        verify(taskRepository).findAll(any(Specification.class), eq(pageRequest));
+    }
+
+    @Test
+    public void givenTitleOrSortWithQueryWhenSearchTaskPageThenThrowException() {
+
+        assertThatThrownBy(() -> taskService.searchTaskPage("report", "title", null, null, null, 0, 10, Sort.unsorted()))
+                .isInstanceOf(InvalidTaskRequestException.class);
+        assertThatThrownBy(() -> taskService.searchTaskPage("report", null, null, null, null, 0, 10, Sort.by("title")))
+                .isInstanceOf(InvalidTaskRequestException.class);
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void givenMoreTasksThanSizeWhenFindTaskCursorPageThenReturnNextCursor() {
+        var taskDto = TestUtil.buildTaskDto();
+        var second = TestUtil.buildTaskDto(2L, "second", "second", TaskStatus.TODO, TestUtil.TASK_DUE_DATE);
+
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.asc("dueDate"), Sort.Order.asc("id"))), eq(2)))
+                .thenReturn(List.of(taskDto, second));
+
+        var result = taskService.findTaskCursorPage(null, null, null, null, null, 1, Sort.by("dueDate"));
+
+        assertThat(result.getContent()).containsExactly(taskDto);
+        assertThat(result.getSize()).isEqualTo(1);
+
+        var nextCursor = TaskCursor.decode(result.getNextCursor());
+
+        assertThat(nextCursor.order()).isEqualTo(Sort.Order.asc("dueDate"));
+        assertThat(nextCursor.value()).isEqualTo(TestUtil.TASK_DUE_DATE);
+        assertThat(nextCursor.id()).isEqualTo(TASK_ID);
+    }
+
+    @Test
+    public void givenLastTasksWhenFindTaskCursorPageThenReturnNoNextCursor() {
+        var taskDto = TestUtil.buildTaskDto();
+        var cursor = new TaskCursor(Sort.Order.desc("title"), "zzz", 5L).encode();
+
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.desc("title"), Sort.Order.desc("id"))), eq(11)))
+                .thenReturn(List.of(taskDto));
+
+        var result = taskService.findTaskCursorPage(null, null, null, null, cursor, 10, Sort.unsorted());
+
+        assertThat(result.getContent()).containsExactly(taskDto);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenInvalidCursorWhenFindTaskCursorPageThenThrowException() {
+
+        assertThatThrownBy(() -> taskService.findTaskCursorPage(null, null, null, null, "not a cursor", 10, Sort.unsorted()))
+                .isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    @Test
+    public void givenLastTaskWithoutDueDateWhenFindTaskCursorPageThenCursorWithoutValue() {
+        var taskDto = TestUtil.buildTaskDto(TASK_ID, "title", "description", TaskStatus.TODO, null);
+        var second = TestUtil.buildTaskDto(2L, "second", "second", TaskStatus.TODO, null);
+
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.asc("dueDate"), Sort.Order.asc("id"))), eq(2)))
+                .thenReturn(List.of());
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.asc("id"))), eq(2)))
+                .thenReturn(List.of(taskDto, second));
+
+        var result = taskService.findTaskCursorPage(null, null, null, null, null, 1, Sort.by("dueDate"));
+        var nextCursor = TaskCursor.decode(result.getNextCursor());
+
+        assertThat(result.getContent()).containsExactly(taskDto);
+        assertThat(nextCursor.value()).isNull();
+        assertThat(nextCursor.id()).isEqualTo(TASK_ID);
+    }
+
+    @Test
+    public void givenRowsWithSortKeyRunningOutWhenFindTaskCursorPageThenContinueWithRowsWithoutKey() {
+        var taskDto = TestUtil.buildTaskDto();
+        var withoutDueDate = TestUtil.buildTaskDto(2L, "second", "second", TaskStatus.TODO, null);
+        var cursor = new TaskCursor(Sort.Order.asc("dueDate"), TestUtil.TASK_DUE_DATE.minusDays(1), 7L).encode();
+
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.asc("dueDate"), Sort.Order.asc("id"))), eq(3)))
+                .thenReturn(List.of(taskDto));
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.asc("id"))), eq(2)))
+                .thenReturn(List.of(withoutDueDate));
+
+        var result = taskService.findTaskCursorPage(null, null, null, null, cursor, 2, Sort.unsorted());
+
+        assertThat(result.getContent()).containsExactly(taskDto, withoutDueDate);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenCursorWithoutSortKeyWhenFindTaskCursorPageThenSeekByIdOnly() {
+        var withoutDueDate = TestUtil.buildTaskDto(9L, "title", "description", TaskStatus.TODO, null);
+        var cursor = new TaskCursor(Sort.Order.asc("dueDate"), null, 7L).encode();
+
+        when(taskRepository.findDtos(any(Specification.class), eq(Sort.by(Sort.Order.asc("id"))), eq(11)))
+                .thenReturn(List.of(withoutDueDate));
+
+        var result = taskService.findTaskCursorPage(null, null, null, null, cursor, 10, Sort.unsorted());
+
+        assertThat(result.getContent()).containsExactly(withoutDueDate);
+        verify(taskRepository, times(1)).findDtos(any(Specification.class), any(Sort.class), anyInt());
+    }
+
+    @Test
+    public void givenTamperedCursorValueWhenFindTaskCursorPageThenThrowException() {
+        var cursor = Base64.getUrlEncoder().encodeToString("status|ASC|5|DONE".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> taskService.findTaskCursorPage(null, null, null, null, cursor, 10, Sort.unsorted()))
+                .isInstanceOf(InvalidTaskRequestException.class);
+
+        var dueDateCursor = Base64.getUrlEncoder().encodeToString("dueDate|ASC|5|2030-13-01".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> taskService.findTaskCursorPage(null, null, null, null, dueDateCursor, 10, Sort.unsorted()))
+                .isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    @Test
+    public void givenUnsupportedSortWhenFindTaskCursorPageThenThrowException() {
+
+        assertThatThrownBy(() -> taskService.findTaskCursorPage(null, null, null, null, null, 10, Sort.by("title", "dueDate")))
+                .isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    @Test
+    public void givenTaskExistWhenFindByIdThenReturnTask() {
+        var taskDto = TestUtil.buildTaskDto();
+
+        when(taskLoader.load(TASK_ID)).thenReturn(Optional.of(taskDto));
+
         var result = taskService.findById(TASK_ID);
 
         assertThat(result).isEqualTo(taskDto);
 
-        verify(taskRepository).findById(TASK_ID);
-        verify(taskMapper).toDto(task);
+        verify(taskLoader).load(TASK_ID);
+        verifyNoInteractions(taskMapper);
     }
 
     @Test
     public void givenTaskNotExistsWhenFindByIdThenThrowException() {
 
-        when(taskRepository.findById(TASK_ID)).thenReturn(Optional.empty());
+        when(taskLoader.load(TASK_ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.findById(TASK_ID))
                 .isInstanceOf(TaskNotFoundException.class)
                 .hasMessage(TestUtil.TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(TASK_ID));
 
-        verify(taskRepository).findById(TASK_ID);
+        verify(taskLoader).load(TASK_ID);
+    }
+
+    @Test
+    public void givenCachedAndUncachedIdsWhenFindByIdsThenLoadOnlyUncachedInRequestOrder() {
+        var cachedTask = TaskDto.builder().id(1L).title("cached").build();
+        var loadedTask = TaskDto.builder().id(2L).title("loaded").build();
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).put(1L, cachedTask);
+
+        when(taskLoader.loadAll(Set.of(2L, 3L))).thenReturn(Map.of(2L, loadedTask));
+
+        var result = taskService.findByIds(List.of(2L, 3L, 1L, 2L));
+
+        assertThat(result).containsExactly(loadedTask, cachedTask);
+        assertThat(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(2L, TaskDto.class)).isEqualTo(loadedTask);
+    }
+
+    @Test
+    public void givenTooManyIdsWhenFindByIdsThenThrowException() {
+        loaderProperties.setMaxIds(2);
+
+        assertThatThrownBy(() -> taskService.findByIds(List.of(1L, 2L, 3L)))
+                .isInstanceOf(InvalidTaskRequestException.class);
+
+        verifyNoInteractions(taskLoader);
+    }
+
+    @Test
+    public void givenEmptyIdWhenFindByIdsThenThrowException() {
+        assertThatThrownBy(() -> taskService.findByIds(Arrays.asList(1L, null, 2L)))
+                .isInstanceOf(InvalidTaskRequestException.class);
+
+        verifyNoInteractions(taskLoader);
     }
 
     @Test
@@ -110,6 +363,7 @@ public class TaskServiceTest {
         verify(taskRepository).save(task);
         verify(taskMapper).toDto(task);
         verify(taskMapper).toEntity(taskDto);
+        verify(statisticsService).recordCreated(task.getStatus(), task.getDueDate());
     }
 
     @Test
@@ -119,15 +373,15 @@ public class TaskServiceTest {
 
         when(taskRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
         when(taskMapper.toDto(task)).thenReturn(taskDto);
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
 
-        var result = taskService.update(TASK_ID, taskDto);
+        var result = taskService.update(TASK_ID, taskDto, null);
 
         assertThat(result).isEqualTo(taskDto);
 
         verify(taskRepository).findById(TASK_ID);
         verify(taskMapper).toDto(task);
-        verify(taskRepository).save(task);
+        verify(taskRepository).saveAndFlush(task);
     }
 
     @Test
@@ -137,7 +391,7 @@ public class TaskServiceTest {
         when(taskRepository.findById(TASK_ID)).thenReturn(Optional.empty());
 
 
-        assertThatThrownBy(() -> taskService.update(TASK_ID, taskDto))
+        assertThatThrownBy(() -> taskService.update(TASK_ID, taskDto, null))
                 .isInstanceOf(TaskNotFoundException.class)
                 .hasMessage(TestUtil.TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(TASK_ID));
 
@@ -147,8 +401,87 @@ public class TaskServiceTest {
     @Test
     public void givenTaskExistsWhenDeleteTaskThenDeleteTask() {
 
-        taskService.delete(TASK_ID);
+        when(taskRepository.deleteReturningPrevious(TASK_ID, null))
+                .thenReturn(Optional.of(new TaskStatusDueDate(TASK_ID, TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE)));
 
-        verify(taskRepository).deleteById(TASK_ID);
+        taskService.delete(TASK_ID, null);
+
+        verify(taskRepository).deleteReturningPrevious(TASK_ID, null);
+        verify(statisticsService).recordDeleted(TestUtil.TASK_STATUS, TestUtil.TASK_DUE_DATE);
+        verify(taskChangeService).record(TASK_ID, TaskChangeType.DELETED);
+        verify(taskPageCache).invalidate();
+        verify(taskDueService).untrack(TASK_ID);
+    }
+
+    @Test
+    public void givenTaskNotExistsWhenDeleteTaskThenThrowException() {
+
+        when(taskRepository.deleteReturningPrevious(TASK_ID, null)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.delete(TASK_ID, null))
+                .isInstanceOf(TaskNotFoundException.class)
+                .hasMessage(TestUtil.TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(TASK_ID));
+
+        verify(taskRepository).deleteReturningPrevious(TASK_ID, null);
+    }
+
+    @Test
+    public void givenStaleVersionWhenDeleteTaskThenThrowConflict() {
+
+        when(taskRepository.deleteReturningPrevious(TASK_ID, 2L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(TASK_ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.delete(TASK_ID, 2L))
+                .isInstanceOf(TaskVersionConflictException.class);
+    }
+
+    @Test
+    public void givenStaleVersionWhenUpdateTaskThenThrowConflict() {
+        var task = TestUtil.buildTask();
+        task.setVersion(3L);
+
+        when(taskRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.update(TASK_ID, buildTaskDto(), 2L))
+                .isInstanceOf(TaskVersionConflictException.class);
+
+        verify(taskRepository, never()).saveAndFlush(task);
+    }
+
+    @Test
+    public void givenTaskExistsWhenPatchTaskThenUpdateOnlySuppliedFields() {
+        var taskPatchDto = TaskPatchDto.builder().status(TaskStatus.COMPLETED).build();
+
+        when(taskRepository.patchReturningPrevious(TASK_ID, null, null, null, TaskStatus.COMPLETED, null))
+                .thenReturn(Optional.of(new TaskStatusDueDate(TASK_ID, TaskStatus.TODO, TestUtil.TASK_DUE_DATE)));
+
+        taskService.patch(TASK_ID, taskPatchDto, null);
+
+        verify(taskRepository).patchReturningPrevious(TASK_ID, null, null, null, TaskStatus.COMPLETED, null);
+        verify(taskRepository, never()).lockStatusAndDueDates(any());
+        verify(statisticsService).recordUpdated(TaskStatus.TODO, TestUtil.TASK_DUE_DATE, TaskStatus.COMPLETED, TestUtil.TASK_DUE_DATE);
+    }
+
+    @Test
+    public void givenOnlyTitleWhenPatchTaskThenStatisticsNotTouched() {
+        var taskPatchDto = TaskPatchDto.builder().title("title").build();
+
+        when(taskRepository.patchReturningPrevious(TASK_ID, null, "title", null, null, null))
+                .thenReturn(Optional.of(new TaskStatusDueDate(TASK_ID, TaskStatus.TODO, TestUtil.TASK_DUE_DATE)));
+
+        taskService.patch(TASK_ID, taskPatchDto, null);
+
+        verifyNoInteractions(statisticsService);
+    }
+
+    @Test
+    public void givenTaskNotExistsWhenPatchTaskThenThrowException() {
+        var taskPatchDto = TaskPatchDto.builder().title("title").build();
+
+        when(taskRepository.patchReturningPrevious(TASK_ID, null, "title", null, null, null)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.patch(TASK_ID, taskPatchDto, null))
+                .isInstanceOf(TaskNotFoundException.class)
+                .hasMessage(TestUtil.TASK_NOT_FOUND_EXCEPTION_MESSAGE.formatted(TASK_ID));
     }
 }
@@ -0,0 +1,105 @@
+package com.proxy.task.service;
+
+import com.proxy.task.dto.TaskDueDateBucket;
+import com.proxy.task.dto.TaskStatusDueDateCount;
+import com.proxy.task.entity.TaskStatus;
+import com.proxy.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStatisticsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatisticsServiceImpl taskStatisticsService;
+
+    @BeforeEach
+    public void setUp() {
+        var clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+        taskStatisticsService = new TaskStatisticsServiceImpl(taskRepository, clock);
+    }
+
+    @Test
+    public void givenCountsInDatabaseWhenGetStatisticsThenReturnReconciledCounts() {
+        when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of(
+                new TaskStatusDueDateCount(TaskStatus.TODO, TODAY.minusDays(1), 3),
+                new TaskStatusDueDateCount(TaskStatus.TODO, TODAY, 2),
+                new TaskStatusDueDateCount(TaskStatus.IN_PROGRESS, TODAY.plusDays(5), 4),
+                new TaskStatusDueDateCount(TaskStatus.COMPLETED, TODAY.minusDays(10), 7)));
+
+        var statistics = taskStatisticsService.getStatistics();
+
+        assertThat(statistics.getTotal()).isEqualTo(16);
+        assertThat(statistics.getCountsByStatus()).containsEntry(TaskStatus.TODO, 5L).containsEntry(TaskStatus.COMPLETED, 7L);
+        assertThat(statistics.getOverdue()).isEqualTo(3);
+        assertThat(statistics.getDueDateHistogram())
+                .containsEntry(TaskDueDateBucket.TODAY, 2L)
+                .containsEntry(TaskDueDateBucket.NEXT_7_DAYS, 4L)
+                .containsEntry(TaskDueDateBucket.LATER, 0L);
+    }
+
+    @Test
+    public void givenReconciledCountersWhenTaskCompletedThenAdjustWithoutQuery() {
+        when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of(
+                new TaskStatusDueDateCount(TaskStatus.TODO, TODAY.minusDays(1), 1)));
+
+        taskStatisticsService.reconcile();
+        taskStatisticsService.recordUpdated(TaskStatus.TODO, TODAY.minusDays(1), TaskStatus.COMPLETED, TODAY.minusDays(1));
+        taskStatisticsService.recordCreated(TaskStatus.ON_HOLD, TODAY.plusDays(60));
+
+        var statistics = taskStatisticsService.getStatistics();
+
+        assertThat(statistics.getOverdue()).isZero();
+        assertThat(statistics.getCountsByStatus()).containsEntry(TaskStatus.COMPLETED, 1L).containsEntry(TaskStatus.TODO, 0L);
+        assertThat(statistics.getDueDateHistogram()).containsEntry(TaskDueDateBucket.LATER, 1L);
+        verify(taskRepository, times(1)).countByStatusAndDueDate();
+    }
+
+    @Test
+    public void givenReconciledCountersWhenTasksDeletedAndImportedThenAdjustWithoutQuery() {
+        when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of(
+                new TaskStatusDueDateCount(TaskStatus.TODO, TODAY.minusDays(1), 2)));
+
+        taskStatisticsService.reconcile();
+        taskStatisticsService.recordDeleted(TaskStatus.TODO, TODAY.minusDays(1));
+        taskStatisticsService.recordCreated(TaskStatus.IN_PROGRESS, TODAY, 3);
+        taskStatisticsService.reconcileIfStale();
+
+        var statistics = taskStatisticsService.getStatistics();
+
+        assertThat(statistics.getTotal()).isEqualTo(4);
+        assertThat(statistics.getOverdue()).isEqualTo(1);
+        assertThat(statistics.getDueDateHistogram()).containsEntry(TaskDueDateBucket.TODAY, 3L);
+        verify(taskRepository, times(1)).countByStatusAndDueDate();
+    }
+
+    @Test
+    public void givenStaleCountersWhenReconcileIfStaleThenQueryDatabase() {
+        when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of());
+
+        taskStatisticsService.reconcile();
+        taskStatisticsService.reconcileIfStale();
+        taskStatisticsService.markStale();
+        taskStatisticsService.reconcileIfStale();
+
+        verify(taskRepository, times(2)).countByStatusAndDueDate();
+    }
+}